@@ -0,0 +1,51 @@
+package com.vzurauskas.nereides.jackson.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks twice, on a single thread and on as many threads as
+ * there are processors, with the GC profiler enabled. Arguments are the usual
+ * JMH command line options, e.g. a regular expression of benchmarks to run.
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+        // Entry point only.
+    }
+
+    public static void main(String... args) throws Exception {
+        final int cpus = Runtime.getRuntime().availableProcessors();
+        for (int threads : new int[] {1, cpus}) {
+            run(args, threads);
+            if (cpus == 1) {
+                break;
+            }
+        }
+    }
+
+    private static void run(String[] args, int threads) throws Exception {
+        final ChainedOptionsBuilder options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .warmupIterations(3)
+            .measurementIterations(5)
+            .forks(1)
+            .threads(threads)
+            .addProfiler(GCProfiler.class);
+        try {
+            new Runner(options.build()).run();
+        } catch (RunnerException ex) {
+            throw new IllegalStateException(
+                "Benchmarks failed on " + threads + " threads", ex
+            );
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.vzurauskas.nereides.jackson.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Documents the benchmarks run against, in small, medium and large sizes.
+ * Each document has an {@code ocean} object and a {@code nereides} array of
+ * {@code size} elements, so lookups of the same paths work for every size.
+ */
+@State(Scope.Benchmark)
+public class Documents {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({"small", "medium", "large"})
+    private String size;
+
+    private String text;
+    private byte[] bytes;
+    private Path file;
+    private JsonNode node;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.text = document(elements(size));
+        this.bytes = text.getBytes(StandardCharsets.UTF_8);
+        this.file = Files.createTempFile("nereides", ".json");
+        Files.write(file, bytes);
+        this.node = MAPPER.readTree(bytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    String text() {
+        return text;
+    }
+
+    byte[] bytes() {
+        return bytes;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    JsonNode node() {
+        return node;
+    }
+
+    private static int elements(String size) {
+        final int result;
+        if ("small".equals(size)) {
+            result = 1;
+        } else if ("medium".equals(size)) {
+            result = 100;
+        } else {
+            result = 10_000;
+        }
+        return result;
+    }
+
+    private static String document(int elements) {
+        final StringBuilder json = new StringBuilder(elements * 96 + 64)
+            .append("{\"ocean\":{\"name\":\"Aegean\",\"depth\":1500},")
+            .append("\"nereides\":[");
+        for (int idx = 0; idx < elements; ++idx) {
+            if (idx > 0) {
+                json.append(',');
+            }
+            json.append("{\"name\":\"Nereid ").append(idx)
+                .append("\",\"age\":").append(idx)
+                .append(",\"fair\":").append(idx % 2 == 0)
+                .append(",\"home\":{\"rock\":\"Rock ").append(idx)
+                .append("\"}}");
+        }
+        return json.append("]}").toString();
+    }
+}
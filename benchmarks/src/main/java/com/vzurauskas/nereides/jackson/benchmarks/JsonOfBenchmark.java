@@ -0,0 +1,40 @@
+package com.vzurauskas.nereides.jackson.benchmarks;
+
+import com.vzurauskas.nereides.jackson.Json;
+import com.vzurauskas.nereides.jackson.SmartJson;
+import java.io.ByteArrayInputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Each {@link Json.Of} constructor, including reading the bytes it gives,
+ * since construction alone is lazy for most sources.
+ */
+public class JsonOfBenchmark {
+
+    @Benchmark
+    public byte[] ofString(Documents docs) {
+        return new SmartJson(new Json.Of(docs.text())).byteArray();
+    }
+
+    @Benchmark
+    public byte[] ofBytes(Documents docs) {
+        return new SmartJson(new Json.Of(docs.bytes())).byteArray();
+    }
+
+    @Benchmark
+    public byte[] ofStream(Documents docs) {
+        return new SmartJson(
+            new Json.Of(new ByteArrayInputStream(docs.bytes()))
+        ).byteArray();
+    }
+
+    @Benchmark
+    public byte[] ofPath(Documents docs) {
+        return new SmartJson(new Json.Of(docs.file())).byteArray();
+    }
+
+    @Benchmark
+    public byte[] ofNode(Documents docs) {
+        return new SmartJson(new Json.Of(docs.node())).byteArray();
+    }
+}
@@ -0,0 +1,44 @@
+package com.vzurauskas.nereides.jackson.benchmarks;
+
+import com.vzurauskas.nereides.jackson.Json;
+import com.vzurauskas.nereides.jackson.MutableJson;
+import com.vzurauskas.nereides.jackson.SmartJson;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Building and serializing {@link MutableJson}s.
+ */
+public class MutableJsonBenchmark {
+
+    @Benchmark
+    public MutableJson build() {
+        return new MutableJson()
+            .with("name", "Thetis")
+            .with("age", 10)
+            .with("depth", 1500.5)
+            .with("fair", true)
+            .with(
+                "home",
+                new MutableJson().with("rock", "Rock 1").with("ocean", "Aegean")
+            );
+    }
+
+    @Benchmark
+    public MutableJson buildOnDocument(Documents docs) {
+        return new MutableJson(new Json.Of(docs.bytes()))
+            .with("name", "Thetis")
+            .with("nested", new Json.Of(docs.node()));
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return new SmartJson(build()).byteArray();
+    }
+
+    @Benchmark
+    public byte[] serializeDocument(Documents docs) {
+        return new SmartJson(
+            new MutableJson(new Json.Of(docs.node())).with("name", "Thetis")
+        ).byteArray();
+    }
+}
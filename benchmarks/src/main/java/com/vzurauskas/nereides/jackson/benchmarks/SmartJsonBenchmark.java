@@ -0,0 +1,102 @@
+package com.vzurauskas.nereides.jackson.benchmarks;
+
+import com.vzurauskas.nereides.jackson.Json;
+import com.vzurauskas.nereides.jackson.SmartJson;
+import java.util.OptionalInt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * {@link SmartJson} accessors. Methods prefixed with {@code parsed} work on
+ * a JSON whose tree is already parsed, the others on a fresh JSON, so parsing
+ * is part of what they measure. Primitive leaves of a parsed JSON are
+ * expected to allocate nothing, and optional ones only the optional, as
+ * reported by {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+public class SmartJsonBenchmark {
+
+    private SmartJson parsed;
+
+    @Setup(Level.Trial)
+    public void setUp(Documents docs) {
+        this.parsed = new SmartJson(new Json.Of(docs.bytes()));
+        parsed.isMissing();
+        parsed.leaf("/ocean/name");
+    }
+
+    @Benchmark
+    public String leaf(Documents docs) {
+        return new SmartJson(new Json.Of(docs.bytes())).leaf("/ocean/name");
+    }
+
+    @Benchmark
+    public String parsedLeaf() {
+        return parsed.leaf("/ocean/name");
+    }
+
+    @Benchmark
+    public int leafAsInt(Documents docs) {
+        return new SmartJson(new Json.Of(docs.bytes()))
+            .leafAsInt("/ocean/depth");
+    }
+
+    @Benchmark
+    public int parsedLeafAsInt() {
+        return parsed.leafAsInt("/ocean/depth");
+    }
+
+    @Benchmark
+    public int parsedLeafAsIntOtherwise() {
+        return parsed.leafAsInt("/ocean/nothing", 0);
+    }
+
+    @Benchmark
+    public OptionalInt parsedOptIntLeaf() {
+        return parsed.optIntLeaf("/ocean/depth");
+    }
+
+    @Benchmark
+    public String at(Documents docs) {
+        return new SmartJson(new Json.Of(docs.bytes()))
+            .at("/nereides/0/home").leaf("rock");
+    }
+
+    @Benchmark
+    public String parsedAt() {
+        return parsed.at("/nereides/0/home").leaf("rock");
+    }
+
+    @Benchmark
+    public boolean isMissing(Documents docs) {
+        return new SmartJson(new Json.Of(docs.bytes())).isMissing();
+    }
+
+    @Benchmark
+    public boolean parsedIsMissing() {
+        return parsed.isMissing();
+    }
+
+    @Benchmark
+    public String textual(Documents docs) {
+        return new SmartJson(new Json.Of(docs.bytes())).textual();
+    }
+
+    @Benchmark
+    public String parsedTextual() {
+        return parsed.textual();
+    }
+
+    @Benchmark
+    public String pretty(Documents docs) {
+        return new SmartJson(new Json.Of(docs.bytes())).pretty();
+    }
+
+    @Benchmark
+    public String parsedPretty() {
+        return parsed.pretty();
+    }
+}
@@ -0,0 +1,41 @@
+package com.vzurauskas.nereides.jackson.benchmarks;
+
+import com.vzurauskas.nereides.jackson.CachedJson;
+import com.vzurauskas.nereides.jackson.Json;
+import com.vzurauskas.nereides.jackson.MutableJson;
+import com.vzurauskas.nereides.jackson.SmartJson;
+import com.vzurauskas.nereides.jackson.StreamingJson;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * {@code toString} of each {@link Json} implementation which represents
+ * itself as text. {@code EmptyJson} and {@code MissingJson} do not, so they
+ * are left out.
+ */
+public class ToStringBenchmark {
+
+    @Benchmark
+    public String jsonOf(Documents docs) {
+        return new Json.Of(docs.bytes()).toString();
+    }
+
+    @Benchmark
+    public String smartJson(Documents docs) {
+        return new SmartJson(new Json.Of(docs.bytes())).toString();
+    }
+
+    @Benchmark
+    public String mutableJson(Documents docs) {
+        return new MutableJson(new Json.Of(docs.node())).toString();
+    }
+
+    @Benchmark
+    public String cachedJson(Documents docs) {
+        return new CachedJson(new Json.Of(docs.bytes())).toString();
+    }
+
+    @Benchmark
+    public String streamingJson(Documents docs) {
+        return new StreamingJson(new Json.Of(docs.bytes())).toString();
+    }
+}
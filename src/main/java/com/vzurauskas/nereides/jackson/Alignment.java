@@ -0,0 +1,122 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Alignment of the elements of two arrays, which tells which elements of the
+ * first array are kept in the second one. Common leading and trailing
+ * elements are kept, and the rest are aligned by the shortest edit script
+ * (Myers' algorithm), as long as it has no more than a given number of
+ * insertions and removals. So the alignment takes time linear in the sizes
+ * of the arrays, and the rest of arrays which differ by more are not
+ * aligned at all. Elements are kept if they have the same {@link Structure}.
+ */
+final class Alignment {
+
+    private final JsonNode source;
+    private final JsonNode target;
+    private final int limit;
+
+    /**
+     * Constructor.
+     * @param source The first array.
+     * @param target The second array.
+     * @param limit Maximum number of insertions and removals to align by.
+     */
+    Alignment(JsonNode source, JsonNode target, int limit) {
+        this.source = source;
+        this.target = target;
+        this.limit = limit;
+    }
+
+    /**
+     * Indices of the kept elements in the second array, which increase.
+     * @return For each element of the first array, the index of the same
+     *  element in the second array, or -1 if the element is not kept.
+     */
+    int[] value() {
+        final int size = source.size();
+        final int other = target.size();
+        final int[] kept = new int[size];
+        Arrays.fill(kept, -1);
+        int start = 0;
+        while (start < size && start < other && same(start, start)) {
+            kept[start] = start;
+            ++start;
+        }
+        int end = 0;
+        while (
+            end < size - start && end < other - start
+                && same(size - 1 - end, other - 1 - end)
+        ) {
+            kept[size - 1 - end] = other - 1 - end;
+            ++end;
+        }
+        align(kept, start, size - start - end, other - start - end);
+        return kept;
+    }
+
+    private void align(int[] kept, int start, int rows, int columns) {
+        final int max = Math.min(limit, rows + columns);
+        final int middle = max + 1;
+        final int[] front = new int[2 * max + 3];
+        final List<int[]> trace = new ArrayList<>(max + 1);
+        int edits = -1;
+        for (int step = 0; step <= max && edits < 0; ++step) {
+            trace.add(front.clone());
+            for (int diagonal = -step; diagonal <= step; diagonal += 2) {
+                final int previous = from(front, middle, step, diagonal);
+                int row = front[middle + previous];
+                if (previous < diagonal) {
+                    ++row;
+                }
+                int column = row - diagonal;
+                while (
+                    row < rows && column < columns
+                        && same(start + row, start + column)
+                ) {
+                    ++row;
+                    ++column;
+                }
+                front[middle + diagonal] = row;
+                if (row == rows && column == columns) {
+                    edits = step;
+                }
+            }
+        }
+        int row = rows;
+        int column = columns;
+        for (int step = edits; step >= 0; --step) {
+            final int[] previous = trace.get(step);
+            final int diagonal = from(previous, middle, step, row - column);
+            final int before = previous[middle + diagonal];
+            while (row > before && column > before - diagonal) {
+                --row;
+                --column;
+                kept[start + row] = start + column;
+            }
+            row = before;
+            column = before - diagonal;
+        }
+    }
+
+    private static int from(int[] front, int middle, int step, int diagonal) {
+        final int previous;
+        if (
+            diagonal == -step || diagonal != step
+                && front[middle + diagonal - 1] < front[middle + diagonal + 1]
+        ) {
+            previous = diagonal + 1;
+        } else {
+            previous = diagonal - 1;
+        }
+        return previous;
+    }
+
+    private boolean same(int index, int other) {
+        return source.get(index).equals(Structure::compare, target.get(other));
+    }
+}
@@ -0,0 +1,84 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * {@link Json} read from a binary format supported by Jackson, such as
+ * Smile or CBOR. The format is given as its Jackson {@link JsonFactory},
+ * which comes from the corresponding Jackson dataformat module, e.g.
+ * <pre>
+ * {@code
+ * Json json = new BinaryJson(new SmileFactory(), smileBytes);
+ * int age = new SmartJson(json).leafAsInt("age");
+ * byte[] cbor = new SmartJson(json).byteArray(new CBORFactory());
+ * }
+ * </pre>
+ * This library does not depend on the dataformat modules, so the ones
+ * needed have to be added to the project. The binary data is parsed
+ * lazily and only once, and the tree is handed over to {@link SmartJson}
+ * directly, so the leaf API works without going through textual JSON.
+ * {@link #bytes()} gives the textual JSON, which is serialized lazily.
+ */
+public final class BinaryJson implements Json {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final TreeJson tree;
+
+    /**
+     * Constructor.
+     * @param format Factory of the binary format.
+     * @param bytes Binary data.
+     */
+    public BinaryJson(JsonFactory format, byte[] bytes) {
+        this(new Cached<>(() -> parsed(() -> format.createParser(bytes))));
+    }
+
+    /**
+     * Constructor. The stream is read lazily and only once.
+     * @param format Factory of the binary format.
+     * @param stream Stream of binary data.
+     */
+    public BinaryJson(JsonFactory format, InputStream stream) {
+        this(new Cached<>(() -> parsed(() -> format.createParser(stream))));
+    }
+
+    private BinaryJson(Cached<JsonNode> node) {
+        this.tree = new TreeJson(node);
+    }
+
+    /**
+     * The tree of this JSON, which is shared, so it must not be modified.
+     * @return The tree.
+     */
+    JsonNode node() {
+        return tree.node();
+    }
+
+    @Override
+    public InputStream bytes() {
+        return tree.bytes();
+    }
+
+    @Override
+    public String toString() {
+        return new String(new ByteArray(tree).value());
+    }
+
+    private static JsonNode parsed(Checked<JsonParser> source) {
+        return new Unchecked<>(
+            () -> {
+                try (JsonParser parser = source.value()) {
+                    return Optional.<JsonNode>ofNullable(
+                        MAPPER.readTree(parser)
+                    ).orElseGet(MAPPER::missingNode);
+                }
+            }
+        ).value();
+    }
+}
@@ -0,0 +1,75 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import java.util.BitSet;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * {@link Column} of {@code boolean}s, stored as bits.
+ */
+final class BoolColumn implements Column {
+
+    private final BitSet values;
+    private int size;
+
+    BoolColumn(int size) {
+        this.values = new BitSet();
+        this.size = size;
+    }
+
+    @Override
+    public Column accepting(JsonNode value) {
+        final Column column;
+        if (value.isNull() || value.isBoolean()) {
+            column = this;
+        } else {
+            column = null;
+        }
+        return column;
+    }
+
+    @Override
+    public void add(JsonNode value) {
+        values.set(size, value.booleanValue());
+        ++size;
+    }
+
+    @Override
+    public void trim() {
+        // Bits are allocated only up to the last true value.
+    }
+
+    @Override
+    public JsonNode node(int row) {
+        return BooleanNode.valueOf(values.get(row));
+    }
+
+    @Override
+    public IntStream ints() {
+        throw new IllegalStateException("Column of booleans is not of ints");
+    }
+
+    @Override
+    public LongStream longs() {
+        throw new IllegalStateException("Column of booleans is not of longs");
+    }
+
+    @Override
+    public DoubleStream doubles() {
+        throw new IllegalStateException("Column of booleans is not numeric");
+    }
+
+    @Override
+    public Stream<String> texts() {
+        throw new IllegalStateException("Column of booleans is not textual");
+    }
+
+    @Override
+    public Stream<Boolean> bools() {
+        return IntStream.range(0, size).mapToObj(values::get);
+    }
+}
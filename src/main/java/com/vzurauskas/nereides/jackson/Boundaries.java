@@ -0,0 +1,94 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Byte boundaries of the elements of a JSON array. The bytes are scanned
+ * only for brackets, braces, commas and quotes, without tokenizing anything,
+ * so this is much cheaper than parsing the array, and the elements can then
+ * be parsed independently of each other. Element boundaries are given in
+ * pairs: the start of the element {@code i} is at {@code 2 * i} and its
+ * (exclusive) end is at {@code 2 * i + 1}.
+ */
+final class Boundaries {
+
+    private static final int INITIAL = 64;
+
+    private final byte[] bytes;
+    private final int open;
+
+    /**
+     * Constructor.
+     * @param bytes Bytes of JSON.
+     * @param open Offset of the opening bracket of the array.
+     */
+    Boundaries(byte[] bytes, int open) {
+        this.bytes = bytes;
+        this.open = open;
+    }
+
+    int[] value() {
+        int[] bounds = new int[INITIAL];
+        int count = 0;
+        int depth = 0;
+        int start = -1;
+        boolean string = false;
+        boolean escaped = false;
+        boolean closed = false;
+        int idx = open + 1;
+        while (!closed && idx < bytes.length) {
+            final byte current = bytes[idx];
+            if (string) {
+                string = escaped || current != '"';
+                escaped = !escaped && current == '\\';
+            } else if (depth == 0 && (current == ',' || current == ']')) {
+                closed = current == ']';
+                if (start >= 0) {
+                    if (count == bounds.length) {
+                        bounds = Arrays.copyOf(bounds, count * 2);
+                    }
+                    bounds[count] = start;
+                    bounds[count + 1] = idx;
+                    count += 2;
+                    start = -1;
+                } else if (!closed || count > 0) {
+                    throw malformed("Unexpected '" + (char) current + "'", idx);
+                }
+            } else if (!Character.isWhitespace(current)) {
+                if (depth == 0 && start < 0) {
+                    start = idx;
+                }
+                string = current == '"';
+                depth += change(current);
+            }
+            ++idx;
+        }
+        if (!closed) {
+            throw malformed("Unterminated array", idx);
+        }
+        return Arrays.copyOf(bounds, count);
+    }
+
+    private static int change(byte current) {
+        final int change;
+        if (current == '{' || current == '[') {
+            change = 1;
+        } else if (current == '}' || current == ']') {
+            change = -1;
+        } else {
+            change = 0;
+        }
+        return change;
+    }
+
+    private static UncheckedIOException malformed(String message, int idx) {
+        return new UncheckedIOException(
+            new JsonParseException(
+                (JsonParser) null, message + " at byte " + idx
+            )
+        );
+    }
+}
@@ -1,12 +1,20 @@
 package com.vzurauskas.nereides.jackson;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.UncheckedIOException;
+import java.util.Arrays;
 
+/**
+ * All the bytes of a {@link Json} or an {@link InputStream}, read in bulk.
+ * The buffer is sized by the number of bytes the stream reports as
+ * available, so streams of known length, such as the ones of
+ * {@link Json.Of}, are read into a single array of the exact size with no
+ * intermediate copies.
+ */
 final class ByteArray {
 
+    private static final int MIN_GROWTH = 1024;
+
     private final byte[] bytes;
 
     ByteArray(Json json) {
@@ -14,25 +22,51 @@ final class ByteArray {
     }
 
     ByteArray(InputStream stream) {
-        ByteArrayOutputStream output = new ByteArrayOutputStream();
-        try {
-            byte[] data = new byte[1024];
-            while (true) {
-                int size = stream.read(data, 0, data.length);
-                if (size == -1) {
-                    stream.close();
-                    break;
+        this.bytes = new Unchecked<>(
+            () -> {
+                try (InputStream input = stream) {
+                    return read(input);
                 }
-                output.write(data, 0, size);
             }
-            output.flush();
-            bytes = output.toByteArray();
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
+        ).value();
     }
 
+    /**
+     * The bytes. The array is not copied, so it belongs to the caller, who
+     * is expected to use this {@code ByteArray} only once.
+     * @return The bytes.
+     */
     public byte[] value() {
-        return bytes.clone();
+        return bytes;
+    }
+
+    private static byte[] read(InputStream stream) throws IOException {
+        byte[] buffer = new byte[stream.available()];
+        int size = 0;
+        while (true) {
+            if (size == buffer.length) {
+                final int next = stream.read();
+                if (next == -1) {
+                    break;
+                }
+                buffer = Arrays.copyOf(
+                    buffer, buffer.length + Math.max(buffer.length, MIN_GROWTH)
+                );
+                buffer[size] = (byte) next;
+                ++size;
+            }
+            final int read = stream.read(buffer, size, buffer.length - size);
+            if (read == -1) {
+                break;
+            }
+            size += read;
+        }
+        final byte[] result;
+        if (size == buffer.length) {
+            result = buffer;
+        } else {
+            result = Arrays.copyOf(buffer, size);
+        }
+        return result;
     }
 }
@@ -0,0 +1,49 @@
+package com.vzurauskas.nereides.jackson;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link InputStream} over the remaining bytes of a {@link ByteBuffer}. It
+ * moves the position of the buffer it is given, so each stream should be
+ * given its own view of the bytes, e.g. by {@link ByteBuffer#duplicate()}.
+ */
+final class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+        super();
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+        final int next;
+        if (buffer.hasRemaining()) {
+            next = buffer.get() & 0xFF;
+        } else {
+            next = -1;
+        }
+        return next;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+        final int read;
+        if (length == 0) {
+            read = 0;
+        } else if (buffer.hasRemaining()) {
+            read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+        } else {
+            read = -1;
+        }
+        return read;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+}
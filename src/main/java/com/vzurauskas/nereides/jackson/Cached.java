@@ -4,16 +4,27 @@ import java.util.function.Supplier;
 
 final class Cached<T> {
     private final Supplier<T> scalar;
-    private T value;
+    private volatile T value;
 
     Cached(Supplier<T> scalar) {
         this.scalar = scalar;
     }
 
     public T value() {
-        if (value == null) {
-            value = scalar.get();
+        T result = value;
+        if (result == null) {
+            synchronized (this) {
+                result = value;
+                if (result == null) {
+                    result = scalar.get();
+                    value = result;
+                }
+            }
         }
-        return value;
+        return result;
+    }
+
+    boolean computed() {
+        return value != null;
     }
 }
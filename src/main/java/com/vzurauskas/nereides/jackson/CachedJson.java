@@ -0,0 +1,84 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * {@link Json} which reads the bytes of its origin only once and then
+ * remembers them. It is meant for wrapping {@code Json}s which are
+ * expensive to read, such as the ones backed by a database or an HTTP
+ * call, e.g.
+ * <pre>
+ * {@code
+ * Json config = new CachedJson(new ConfigFromDatabase(...));
+ * }
+ * </pre>
+ * The origin is read on the first call to {@link #bytes()}, and every call
+ * after that gives a new independent stream over the remembered bytes. If
+ * a {@link SmartJson} is made of this JSON, the parsed tree is remembered as
+ * well and shared by all the {@code SmartJson}s made of it, so it is parsed
+ * only once too. Both the bytes and the tree are published safely, so this
+ * JSON can be shared between threads, and after they are captured, reading
+ * them involves no locking.
+ */
+public final class CachedJson implements Json {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Cached<byte[]> bytes;
+    private final Cached<JsonNode> tree;
+
+    /**
+     * Constructor.
+     * @param origin Original JSON to remember.
+     */
+    public CachedJson(Json origin) {
+        this(new Cached<>(() -> new ByteArray(origin).value()));
+    }
+
+    /**
+     * Constructor.
+     * @param bytes Bytes of the JSON, which must not be modified afterwards.
+     */
+    CachedJson(byte[] bytes) {
+        this(new Cached<>(() -> bytes));
+    }
+
+    private CachedJson(Cached<byte[]> bytes) {
+        this.bytes = bytes;
+        this.tree = new Cached<>(
+            () -> new Unchecked<>(
+                () -> MAPPER.readTree(bytes.value())
+            ).value()
+        );
+    }
+
+    /**
+     * The parsed tree of this JSON, which is shared, so it must not be
+     * modified.
+     * @return The tree.
+     */
+    JsonNode tree() {
+        return tree.value();
+    }
+
+    /**
+     * Tell if the tree of this JSON is parsed already.
+     * @return True if the tree is parsed.
+     */
+    boolean parsed() {
+        return tree.computed();
+    }
+
+    @Override
+    public InputStream bytes() {
+        return new ByteArrayInputStream(bytes.value());
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes.value());
+    }
+}
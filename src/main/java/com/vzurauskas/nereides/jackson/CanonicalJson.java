@@ -0,0 +1,209 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link Json} in canonical form, as defined by the JSON Canonicalization
+ * Scheme (RFC 8785), e.g.
+ * <pre>
+ * {@code
+ * String key = new CanonicalJson(json).toString();
+ * }
+ * </pre>
+ * JSONs of the same structure have the same canonical form, byte for byte,
+ * so it can be hashed, signed or used as a key. Fields are sorted by their
+ * names, there is no whitespace, strings are escaped only where needed, and
+ * numbers are written the way JavaScript writes doubles, so integers beyond
+ * 2<sup>53</sup> lose precision, as the scheme prescribes. The canonical
+ * form is made from the tree of the origin each time it is requested.
+ */
+public final class CanonicalJson implements Json {
+
+    private static final String[] ESCAPES = escapes();
+    private static final int MAX_PLAIN = 21;
+    private static final int MIN_PLAIN = -6;
+
+    private final Json origin;
+
+    /**
+     * Constructor.
+     * @param origin JSON to canonicalize.
+     */
+    public CanonicalJson(Json origin) {
+        this.origin = origin;
+    }
+
+    @Override
+    public InputStream bytes() {
+        return new ByteArrayInputStream(
+            toString().getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    /**
+     * The canonical form.
+     * @return The canonical form.
+     * @throws IllegalArgumentException If the JSON contains a number which
+     *  is too large for a double.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder out = new StringBuilder();
+        write(new Tree(origin).value(), out);
+        return out.toString();
+    }
+
+    private static void write(JsonNode node, StringBuilder out) {
+        if (node.isObject()) {
+            final List<String> names = new ArrayList<>(node.size());
+            node.fieldNames().forEachRemaining(names::add);
+            Collections.sort(names);
+            out.append('{');
+            for (int idx = 0; idx < names.size(); ++idx) {
+                if (idx > 0) {
+                    out.append(',');
+                }
+                quote(names.get(idx), out);
+                out.append(':');
+                write(node.get(names.get(idx)), out);
+            }
+            out.append('}');
+        } else if (node.isArray()) {
+            out.append('[');
+            for (int idx = 0; idx < node.size(); ++idx) {
+                if (idx > 0) {
+                    out.append(',');
+                }
+                write(node.get(idx), out);
+            }
+            out.append(']');
+        } else if (node.isNumber()) {
+            out.append(number(node.doubleValue()));
+        } else if (node.isBoolean() || node.isNull()) {
+            out.append(node.asText());
+        } else if (!node.isMissingNode()) {
+            quote(node.asText(), out);
+        }
+    }
+
+    private static void quote(String text, StringBuilder out) {
+        out.append('"');
+        for (int idx = 0; idx < text.length(); ++idx) {
+            final char chr = text.charAt(idx);
+            if (chr < ESCAPES.length && ESCAPES[chr] != null) {
+                out.append(ESCAPES[chr]);
+            } else {
+                out.append(chr);
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Number written the way {@code Number.prototype.toString()} of
+     * JavaScript writes it: the shortest digits which identify the double,
+     * in plain notation for magnitudes from 10<sup>-7</sup> to
+     * 10<sup>21</sup>, and in exponential notation otherwise.
+     * @param value The number.
+     * @return The number written.
+     */
+    private static String number(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException(
+                "Number can not be canonicalized: " + value
+            );
+        }
+        final String text;
+        if (value == 0) {
+            text = "0";
+        } else {
+            final BigDecimal decimal = shortest(Math.abs(value));
+            final String digits = decimal.unscaledValue().toString();
+            final int point = digits.length() - decimal.scale();
+            final String magnitude;
+            if (digits.length() <= point && point <= MAX_PLAIN) {
+                magnitude = digits + zeros(point - digits.length());
+            } else if (point > 0 && point <= MAX_PLAIN) {
+                magnitude = digits.substring(0, point) + '.'
+                    + digits.substring(point);
+            } else if (point > MIN_PLAIN && point <= 0) {
+                magnitude = "0." + zeros(-point) + digits;
+            } else {
+                magnitude = exponential(digits, point - 1);
+            }
+            if (value < 0) {
+                text = '-' + magnitude;
+            } else {
+                text = magnitude;
+            }
+        }
+        return text;
+    }
+
+    /**
+     * Shortest decimal which is read back as the given double. Before Java
+     * 19, {@link Double#toString(double)} sometimes gives a digit more than
+     * needed, e.g. {@code 4.9E-324} instead of {@code 5E-324}, so its digits
+     * are rounded off for as long as they still identify the double.
+     * @param value Positive double.
+     * @return The decimal.
+     */
+    private static BigDecimal shortest(double value) {
+        BigDecimal decimal = new BigDecimal(Double.toString(value))
+            .stripTrailingZeros();
+        for (int digits = decimal.precision() - 1; digits > 0; --digits) {
+            final BigDecimal shorter = decimal.round(
+                new MathContext(digits, RoundingMode.HALF_EVEN)
+            );
+            if (shorter.doubleValue() != value) {
+                break;
+            }
+            decimal = shorter.stripTrailingZeros();
+        }
+        return decimal;
+    }
+
+    private static String exponential(String digits, int exponent) {
+        final StringBuilder text = new StringBuilder(digits.length() + 6);
+        text.append(digits.charAt(0));
+        if (digits.length() > 1) {
+            text.append('.').append(digits, 1, digits.length());
+        }
+        text.append('e');
+        if (exponent > 0) {
+            text.append('+');
+        }
+        return text.append(exponent).toString();
+    }
+
+    private static String zeros(int count) {
+        final char[] zeros = new char[count];
+        Arrays.fill(zeros, '0');
+        return new String(zeros);
+    }
+
+    private static String[] escapes() {
+        final String[] escapes = new String['\\' + 1];
+        for (int chr = 0; chr < ' '; ++chr) {
+            escapes[chr] = String.format("\\u%04x", chr);
+        }
+        escapes['\b'] = "\\b";
+        escapes['\t'] = "\\t";
+        escapes['\n'] = "\\n";
+        escapes['\f'] = "\\f";
+        escapes['\r'] = "\\r";
+        escapes['"'] = "\\\"";
+        escapes['\\'] = "\\\\";
+        return escapes;
+    }
+}
@@ -0,0 +1,169 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// @checkstyle ClassDataAbstractionCoupling (15 lines)
+/**
+ * Children of the node at a pointer in a {@link Json}: elements of an array
+ * or fields of an object. If the tree of the {@code Json} is at hand, they
+ * are taken from it. Otherwise they are read lazily, one at a time, by a
+ * streaming parser positioned at the node, so only the current child is
+ * materialized. The parser is opened when the stream is consumed and closed
+ * when the last child is read or when the stream is closed. If there is no
+ * array or object at the pointer, the stream is empty.
+ */
+final class Children {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Json json;
+    private final Cached<JsonNode> tree;
+    private final JsonPointer pointer;
+
+    Children(Json json, Cached<JsonNode> tree, JsonPointer pointer) {
+        this.json = json;
+        this.tree = tree;
+        this.pointer = pointer;
+    }
+
+    Stream<SmartJson> elements() {
+        final Stream<JsonNode> elements;
+        if (parsed()) {
+            final JsonNode node = tree.value().at(pointer);
+            if (node.isArray()) {
+                elements = StreamSupport.stream(node.spliterator(), false);
+            } else {
+                elements = Stream.empty();
+            }
+        } else {
+            elements = streamed(JsonToken.START_ARRAY)
+                .map(Map.Entry::getValue);
+        }
+        return elements.map(node -> new SmartJson(new TreeJson(node)));
+    }
+
+    Stream<Map.Entry<String, SmartJson>> fields() {
+        final Stream<Map.Entry<String, JsonNode>> fields;
+        if (parsed()) {
+            final JsonNode node = tree.value().at(pointer);
+            if (node.isObject()) {
+                fields = StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(
+                        node.fields(), Spliterator.ORDERED
+                    ),
+                    false
+                );
+            } else {
+                fields = Stream.empty();
+            }
+        } else {
+            fields = streamed(JsonToken.START_OBJECT);
+        }
+        return fields.map(
+            field -> new AbstractMap.SimpleImmutableEntry<>(
+                field.getKey(), new SmartJson(new TreeJson(field.getValue()))
+            )
+        );
+    }
+
+    private boolean parsed() {
+        return tree.computed() || new Tree(json).held();
+    }
+
+    private Stream<Map.Entry<String, JsonNode>> streamed(JsonToken start) {
+        final Cached<JsonParser> parser = new Cached<>(
+            () -> positioned(start)
+        );
+        return StreamSupport.stream(
+            () -> new Tokens(parser.value()),
+            Spliterator.ORDERED | Spliterator.NONNULL,
+            false
+        ).onClose(
+            () -> {
+                if (parser.computed()) {
+                    close(parser.value());
+                }
+            }
+        );
+    }
+
+    private JsonParser positioned(JsonToken start) {
+        return new Unchecked<>(
+            () -> {
+                final JsonParser parser = MAPPER.createParser(json.bytes());
+                boolean positioned = false;
+                try {
+                    positioned = new Lookup(json, pointer).seek(parser)
+                        && parser.currentToken() == start;
+                } finally {
+                    if (!positioned) {
+                        parser.close();
+                    }
+                }
+                return parser;
+            }
+        ).value();
+    }
+
+    private static void close(JsonParser parser) {
+        new Unchecked<>(
+            () -> {
+                parser.close();
+                return parser;
+            }
+        ).value();
+    }
+
+    /**
+     * Children read from a parser positioned at their parent, each with its
+     * name, which is null for array elements. The parser is closed after
+     * the last child.
+     */
+    private static final class Tokens
+        extends Spliterators.AbstractSpliterator<Map.Entry<String, JsonNode>> {
+
+        private final JsonParser parser;
+
+        Tokens(JsonParser parser) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.parser = parser;
+        }
+
+        @Override
+        public boolean tryAdvance(
+            Consumer<? super Map.Entry<String, JsonNode>> action
+        ) {
+            return new Unchecked<>(
+                () -> {
+                    final boolean child = !parser.isClosed()
+                        && !parser.nextToken().isStructEnd();
+                    if (child) {
+                        if (parser.currentToken() == JsonToken.FIELD_NAME) {
+                            parser.nextToken();
+                        }
+                        action.accept(
+                            new AbstractMap.SimpleImmutableEntry<>(
+                                parser.getCurrentName(),
+                                parser.<JsonNode>readValueAsTree()
+                            )
+                        );
+                    } else {
+                        close(parser);
+                    }
+                    return child;
+                }
+            ).value();
+        }
+    }
+}
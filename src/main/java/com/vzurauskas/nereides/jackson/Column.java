@@ -0,0 +1,79 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Column of leaf values of a {@link JsonBatch}, stored in a primitive array
+ * or dictionary-encoded. A {@code null} value is stored as the default value
+ * of the column; the batch remembers which values are {@code null}.
+ */
+interface Column {
+
+    /**
+     * Column which can store the value: this column, if the value is of its
+     * type or {@code null}, or a wider column with the values of this column,
+     * e.g. a column of {@code double}s for a fractional value in a column of
+     * {@code int}s.
+     * @param value Value to store.
+     * @return Column which can store the value or null, if there is none.
+     */
+    Column accepting(JsonNode value);
+
+    /**
+     * Append a value accepted by this column.
+     * @param value Value to append.
+     */
+    void add(JsonNode value);
+
+    /**
+     * Release the unused capacity and whatever is needed only for appending,
+     * after the last value is appended. No values can be appended afterwards.
+     */
+    void trim();
+
+    /**
+     * Value of a row.
+     * @param row Index of the row.
+     * @return Value of the row as a node.
+     */
+    JsonNode node(int row);
+
+    /**
+     * Values as {@code int}s.
+     * @return Stream of the values.
+     * @throws IllegalStateException If the values are not {@code int}s.
+     */
+    IntStream ints();
+
+    /**
+     * Values as {@code long}s.
+     * @return Stream of the values.
+     * @throws IllegalStateException If the values are not integral.
+     */
+    LongStream longs();
+
+    /**
+     * Values as {@code double}s.
+     * @return Stream of the values.
+     * @throws IllegalStateException If the values are not numbers.
+     */
+    DoubleStream doubles();
+
+    /**
+     * Values as {@code String}s.
+     * @return Stream of the values.
+     * @throws IllegalStateException If the values are not textual.
+     */
+    Stream<String> texts();
+
+    /**
+     * Values as {@code Boolean}s.
+     * @return Stream of the values.
+     * @throws IllegalStateException If the values are not booleans.
+     */
+    Stream<Boolean> bools();
+}
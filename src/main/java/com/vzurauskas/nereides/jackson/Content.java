@@ -0,0 +1,39 @@
+package com.vzurauskas.nereides.jackson;
+
+import java.util.Arrays;
+
+/**
+ * Bytes of a JSON as a key of a map: equal if the bytes are equal. The hash
+ * of the bytes is computed once, so looking the key up costs a single pass
+ * over the bytes to hash them, plus one to compare them on a hit.
+ */
+final class Content {
+
+    private final byte[] bytes;
+    private final int hash;
+
+    Content(byte[] bytes) {
+        this.bytes = bytes;
+        this.hash = Arrays.hashCode(bytes);
+    }
+
+    byte[] bytes() {
+        return bytes;
+    }
+
+    int size() {
+        return bytes.length;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof Content
+            && hash == ((Content) other).hash
+            && Arrays.equals(bytes, ((Content) other).bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,82 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import java.util.Arrays;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * {@link Column} of {@code double}s.
+ */
+final class DoubleColumn implements Column {
+
+    private double[] values;
+    private int size;
+
+    DoubleColumn(int size) {
+        this.values = new double[Math.max(size, 1)];
+        this.size = size;
+    }
+
+    @Override
+    public Column accepting(JsonNode value) {
+        final Column column;
+        if (value.isNull() || value.isNumber()) {
+            column = this;
+        } else {
+            column = null;
+        }
+        return column;
+    }
+
+    @Override
+    public void add(JsonNode value) {
+        add(value.doubleValue());
+    }
+
+    @Override
+    public void trim() {
+        values = Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public JsonNode node(int row) {
+        return DoubleNode.valueOf(values[row]);
+    }
+
+    @Override
+    public IntStream ints() {
+        throw new IllegalStateException("Column of doubles is not of ints");
+    }
+
+    @Override
+    public LongStream longs() {
+        throw new IllegalStateException("Column of doubles is not of longs");
+    }
+
+    @Override
+    public DoubleStream doubles() {
+        return Arrays.stream(values, 0, size);
+    }
+
+    @Override
+    public Stream<String> texts() {
+        throw new IllegalStateException("Column of doubles is not textual");
+    }
+
+    @Override
+    public Stream<Boolean> bools() {
+        throw new IllegalStateException("Column of doubles is not of booleans");
+    }
+
+    void add(double value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        ++size;
+    }
+}
@@ -0,0 +1,208 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ContainerNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * JSON which is parsed incrementally, as its bytes arrive in chunks, e.g.
+ * from a non-blocking HTTP server:
+ * <pre>
+ * {@code
+ * IncrementalJson body = new IncrementalJson();
+ * body.json().thenAccept(json -> handle(json.leaf("name")));
+ * // For each received chunk:
+ * body.feed(chunk);
+ * // When the body ends:
+ * body.end();
+ * }
+ * </pre>
+ * Each chunk is parsed by Jackson's non-blocking parser as soon as it is fed,
+ * and the tree of the JSON is built node by node as the tokens arrive, so
+ * parsing overlaps receiving and the body is never aggregated into a buffer
+ * of its own: apart from the tree, only the parser's buffers are held. A
+ * chunk is not needed after {@link #feed(ByteBuffer)} returns, so its
+ * buffer can be reused or released. Only whitespace may follow the JSON
+ * value, so the future completes when {@link #end()} is called, or
+ * exceptionally as soon as the bytes turn out to be malformed, to have
+ * anything but whitespace after the value, or to end before the value is
+ * complete. An empty body gives a missing JSON. Chunks of one JSON must be
+ * fed sequentially, but they can be fed from different threads.
+ */
+public final class IncrementalJson {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final JsonParser parser;
+    private final Deque<ContainerNode<?>> open;
+    private final CompletableFuture<SmartJson> result;
+    private String name;
+    private JsonNode root;
+
+    /**
+     * Constructor.
+     */
+    public IncrementalJson() {
+        this(
+            new Unchecked<>(
+                () -> MAPPER.getFactory().createNonBlockingByteBufferParser()
+            ).value()
+        );
+    }
+
+    private IncrementalJson(JsonParser parser) {
+        this.parser = parser;
+        this.open = new ArrayDeque<>();
+        this.result = new CompletableFuture<>();
+    }
+
+    /**
+     * Feed the next chunk of bytes and parse as much of them as possible.
+     * Chunks fed after the JSON has failed or ended are ignored.
+     * @param chunk Next chunk of bytes, from its position to its limit.
+     * @return This JSON.
+     */
+    public synchronized IncrementalJson feed(ByteBuffer chunk) {
+        if (!result.isDone()) {
+            try {
+                ((ByteBufferFeeder) parser.getNonBlockingInputFeeder())
+                    .feedInput(chunk);
+                parse();
+            } catch (IOException ex) {
+                fail(ex);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Tell that there are no more chunks, which completes the JSON, if it
+     * has not failed yet.
+     * @return This JSON.
+     */
+    public synchronized IncrementalJson end() {
+        if (!result.isDone()) {
+            parser.getNonBlockingInputFeeder().endOfInput();
+            try {
+                parse();
+                parser.close();
+                result.complete(
+                    new SmartJson(
+                        new TreeJson(
+                            Optional.ofNullable(root)
+                                .orElseGet(MAPPER::missingNode)
+                        )
+                    )
+                );
+            } catch (IOException ex) {
+                fail(ex);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * The JSON, which is available when all its bytes are fed and parsed.
+     * @return Future of the JSON.
+     */
+    public CompletableFuture<SmartJson> json() {
+        return result;
+    }
+
+    private void parse() throws IOException {
+        JsonToken token = parser.nextToken();
+        while (token != null && token != JsonToken.NOT_AVAILABLE) {
+            if (root != null) {
+                throw new JsonParseException(
+                    parser, "Unexpected content after the JSON value"
+                );
+            }
+            if (token == JsonToken.START_OBJECT) {
+                push(NODES.objectNode());
+            } else if (token == JsonToken.START_ARRAY) {
+                push(NODES.arrayNode());
+            } else if (token.isStructEnd()) {
+                completed(open.pop());
+            } else if (token == JsonToken.FIELD_NAME) {
+                name = parser.currentName();
+            } else {
+                completed(attached(scalar(token)));
+            }
+            token = parser.nextToken();
+        }
+    }
+
+    private void push(ContainerNode<?> node) {
+        open.push(attached(node));
+    }
+
+    private <T extends JsonNode> T attached(T node) {
+        final ContainerNode<?> parent = open.peek();
+        if (parent instanceof ObjectNode) {
+            ((ObjectNode) parent).set(name, node);
+        } else if (parent instanceof ArrayNode) {
+            ((ArrayNode) parent).add(node);
+        }
+        return node;
+    }
+
+    private <T extends JsonNode> T completed(T node) {
+        if (open.isEmpty()) {
+            root = node;
+        }
+        return node;
+    }
+
+    private JsonNode scalar(JsonToken token) throws IOException {
+        final JsonNode node;
+        if (token == JsonToken.VALUE_STRING) {
+            node = NODES.textNode(parser.getText());
+        } else if (token == JsonToken.VALUE_NUMBER_INT) {
+            node = integer();
+        } else if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+            node = NODES.numberNode(parser.getDoubleValue());
+        } else if (token.isBoolean()) {
+            node = NODES.booleanNode(token == JsonToken.VALUE_TRUE);
+        } else {
+            node = NODES.nullNode();
+        }
+        return node;
+    }
+
+    private JsonNode integer() throws IOException {
+        final JsonParser.NumberType type = parser.getNumberType();
+        final JsonNode node;
+        if (type == JsonParser.NumberType.INT) {
+            node = NODES.numberNode(parser.getIntValue());
+        } else if (type == JsonParser.NumberType.LONG) {
+            node = NODES.numberNode(parser.getLongValue());
+        } else {
+            node = NODES.numberNode(parser.getBigIntegerValue());
+        }
+        return node;
+    }
+
+    private void fail(IOException ex) {
+        result.completeExceptionally(ex);
+        new Unchecked<>(
+            () -> {
+                parser.close();
+                return parser;
+            }
+        ).value();
+    }
+}
@@ -0,0 +1,86 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import java.util.Arrays;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * {@link Column} of {@code int}s.
+ */
+final class IntColumn implements Column {
+
+    private int[] values;
+    private int size;
+
+    IntColumn(int size) {
+        this.values = new int[Math.max(size, 1)];
+        this.size = size;
+    }
+
+    @Override
+    public Column accepting(JsonNode value) {
+        final Column column;
+        if (value.isNull() || value.isInt()) {
+            column = this;
+        } else if (value.isIntegralNumber() && value.canConvertToLong()) {
+            final LongColumn longs = new LongColumn(0);
+            ints().forEach(longs::add);
+            column = longs;
+        } else if (value.isNumber()) {
+            final DoubleColumn doubles = new DoubleColumn(0);
+            ints().forEach(doubles::add);
+            column = doubles;
+        } else {
+            column = null;
+        }
+        return column;
+    }
+
+    @Override
+    public void add(JsonNode value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value.intValue();
+        ++size;
+    }
+
+    @Override
+    public void trim() {
+        values = Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public JsonNode node(int row) {
+        return IntNode.valueOf(values[row]);
+    }
+
+    @Override
+    public IntStream ints() {
+        return Arrays.stream(values, 0, size);
+    }
+
+    @Override
+    public LongStream longs() {
+        return ints().asLongStream();
+    }
+
+    @Override
+    public DoubleStream doubles() {
+        return ints().asDoubleStream();
+    }
+
+    @Override
+    public Stream<String> texts() {
+        throw new IllegalStateException("Column of ints is not textual");
+    }
+
+    @Override
+    public Stream<Boolean> bools() {
+        throw new IllegalStateException("Column of ints is not of booleans");
+    }
+}
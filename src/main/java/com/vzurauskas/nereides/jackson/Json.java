@@ -1,11 +1,11 @@
 package com.vzurauskas.nereides.jackson;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
-import java.io.UncheckedIOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.function.Supplier;
@@ -25,6 +25,27 @@ public interface Json {
      */
     InputStream bytes();
 
+    /**
+     * Write this {@code Json} to an {@link OutputStream} without making a
+     * buffer of its full size. Exactly the bytes of {@link #bytes()} are
+     * written: a tree from which this {@code Json} makes its bytes is
+     * streamed through a generator, and other bytes are copied in bulk. The
+     * stream is flushed, but not closed.
+     * @param out Stream to write to.
+     */
+    default void writeTo(OutputStream out) {
+        new Output(this).writeTo(out);
+    }
+
+    /**
+     * Write this {@code Json} to a {@link WritableByteChannel}, the same way
+     * as to an {@link OutputStream}. The channel is not closed.
+     * @param channel Channel to write to.
+     */
+    default void writeTo(WritableByteChannel channel) {
+        writeTo(Channels.newOutputStream(channel));
+    }
+
     /**
      * {@link Json}, constructed from JSON represented by other data types
      * such as byte array, {@code String}, {@code InputStream} and so forth.
@@ -37,11 +58,13 @@ public interface Json {
      * </pre>
      */
     final class Of implements Json {
-        private static final ObjectMapper MAPPER = new ObjectMapper();
         private final Json origin;
 
         /**
-         * Constructor.
+         * Constructor. The node is copied, so changing it afterwards does not
+         * change this JSON. It is serialized only when the bytes of this JSON
+         * are requested, and {@link SmartJson} or {@link MutableJson} made of
+         * this JSON take the node directly instead of parsing the bytes.
          * @param node JSON represented by {@link JsonNode} from
          * 'jackson-databind' library.
          */
@@ -50,22 +73,13 @@ public interface Json {
         }
 
         /**
-         * Constructor.
+         * Constructor. The node is supplied immediately and copied, as in
+         * {@link #Of(JsonNode)}.
          * @param node JSON represented by {@link JsonNode} from
          * 'jackson-databind' library.
          */
         public Of(Supplier<JsonNode> node) {
-            this(
-                flattened(
-                    () -> {
-                        try {
-                            return MAPPER.writeValueAsBytes(node.get());
-                        } catch (JsonProcessingException e) {
-                            throw new UncheckedIOException(e);
-                        }
-                    }
-                )
-            );
+            this(new TreeJson(flattened(() -> node.get().deepCopy())));
         }
 
         private static <T> T flattened(Supplier<T> scalar) {
@@ -81,15 +95,13 @@ public interface Json {
         }
 
         /**
-         * Constructor.
+         * Constructor. Each call to {@link #bytes()} gives a new independent
+         * stream over the array, so this JSON can be read by many threads at
+         * the same time. The array must not be modified afterwards.
          * @param bytes JSON represented by an array of bytes.
          */
         public Of(byte[] bytes) {
-            this(
-                new AutoResetInputStream(
-                    new ByteArrayInputStream(bytes)
-                )
-            );
+            this.origin = () -> new ByteArrayInputStream(bytes);
         }
 
         /**
@@ -102,29 +114,30 @@ public interface Json {
         }
 
         /**
-         * Constructor.
+         * Constructor. The file is read onto the heap when its bytes are
+         * needed for the first time, and the bytes are then remembered, so
+         * later changes to the file are not seen. To memory-map a large file
+         * instead of reading it onto the heap, use {@link MappedJson}.
          * @param path Path to a JSON in a file.
          */
         public Of(Path path) {
             this(
-                new Cached<>(
-                    () -> new Unchecked<>(
-                        () -> new AutoResetInputStream(
-                            new ByteArrayInputStream(Files.readAllBytes(path))
-                        )
-                    ).value()
+                new CachedJson(
+                    () -> new ByteArrayInputStream(
+                        new Unchecked<>(() -> Files.readAllBytes(path)).value()
+                    )
                 )
             );
         }
 
-        private Of(Cached<InputStream> cached) {
-            this(cached::value);
-        }
-
         private Of(Json json) {
             this.origin = json;
         }
 
+        Json origin() {
+            return origin;
+        }
+
         @Override
         public InputStream bytes() {
             return origin.bytes();
@@ -0,0 +1,300 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+// @checkstyle ClassDataAbstractionCoupling (30 lines)
+/**
+ * Batch of many JSON documents of the same shape, stored in columns, e.g.
+ * <pre>
+ * {@code
+ * JsonBatch events = new JsonBatch(new JsonLines(path));
+ * double total = events.doubles("/amount").sum();
+ * SmartJson tenth = events.row(9);
+ * }
+ * </pre>
+ * The first document defines the shape of the batch: its objects, arrays and
+ * leaves. Names of the fields are stored only once, and the leaf values of
+ * all the documents are stored in columns, one for each leaf: in primitive
+ * arrays of {@code int}s, {@code long}s or {@code double}s, in bits for
+ * {@code boolean}s, and dictionary-encoded for strings, so repeated strings
+ * are stored once. This takes several times less memory than keeping the
+ * documents themselves, and scanning a column runs at the speed of iterating
+ * an array. A column is widened if a document needs it, e.g. from
+ * {@code int}s to {@code double}s, and any leaf can be {@code null}.
+ * Widening applies to all the rows of the column, including the ones read
+ * before, so they are rebuilt with the values of the wider type: after
+ * {@code {"a": 1}} and {@code {"a": 1.5}}, the first row is rebuilt as
+ * {@code {"a":1.0}}, which has the same {@link Structure} but other bytes,
+ * and integers beyond 2<sup>53</sup> lose precision as {@code double}s. Rows
+ * are given back as {@link SmartJson}s, whose trees are rebuilt from the
+ * columns on demand. The documents are read when the batch is constructed,
+ * and they are not kept. The batch is not modified after that, so it can
+ * be shared between threads.
+ */
+public final class JsonBatch {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final JsonNode shape;
+    private final List<Column> columns;
+    private final List<BitSet> nulls;
+    private final List<String> names;
+    private final Map<String, Integer> paths;
+    private final int size;
+
+    /**
+     * Constructor.
+     * @param documents Documents of the same shape.
+     * @throws IllegalArgumentException If a document is of another shape
+     *  than the first one.
+     */
+    public JsonBatch(Iterable<? extends Json> documents) {
+        final Iterator<? extends Json> iterator = documents.iterator();
+        this.columns = new ArrayList<>();
+        this.nulls = new ArrayList<>();
+        this.names = new ArrayList<>();
+        this.paths = new HashMap<>();
+        int count = 0;
+        if (iterator.hasNext()) {
+            final JsonNode first = new Tree(iterator.next()).value();
+            this.shape = first.deepCopy();
+            create(shape, "");
+            append(shape, first, 0, count);
+            ++count;
+            while (iterator.hasNext()) {
+                append(shape, new Tree(iterator.next()).value(), 0, count);
+                ++count;
+            }
+            columns.forEach(Column::trim);
+        } else {
+            this.shape = MissingNode.getInstance();
+        }
+        this.size = count;
+    }
+
+    /**
+     * Number of documents in this batch.
+     * @return Number of documents.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Document at a row of this batch. Its tree is rebuilt from the columns
+     * when it is first needed.
+     * @param row Index of the row.
+     * @return The document.
+     * @throws IndexOutOfBoundsException If there is no such row.
+     */
+    public SmartJson row(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException(
+                "Row " + row + " of " + size
+            );
+        }
+        return new SmartJson(
+            new TreeJson(
+                new Cached<>(
+                    () -> node(
+                        shape,
+                        row,
+                        IntStream.range(0, columns.size()).iterator()
+                    )
+                )
+            )
+        );
+    }
+
+    /**
+     * Documents of this batch, in the order they were read.
+     * @return Stream of the documents.
+     */
+    public Stream<SmartJson> rows() {
+        return IntStream.range(0, size).mapToObj(this::row);
+    }
+
+    /**
+     * Values of an {@code int} leaf of all the documents. {@code null}s are
+     * given as zeros.
+     * @param path JSON path to the leaf, e.g. {@code /header/id}.
+     * @return Stream of the values.
+     * @throws IllegalArgumentException If there is no such leaf.
+     * @throws IllegalStateException If the leaf is not an {@code int}.
+     */
+    public IntStream ints(String path) {
+        return column(path).ints();
+    }
+
+    /**
+     * Values of an integral leaf of all the documents. {@code null}s are
+     * given as zeros.
+     * @param path JSON path to the leaf, e.g. {@code /header/id}.
+     * @return Stream of the values.
+     * @throws IllegalArgumentException If there is no such leaf.
+     * @throws IllegalStateException If the leaf is not integral.
+     */
+    public LongStream longs(String path) {
+        return column(path).longs();
+    }
+
+    /**
+     * Values of a numeric leaf of all the documents. {@code null}s are given
+     * as zeros.
+     * @param path JSON path to the leaf, e.g. {@code /header/amount}.
+     * @return Stream of the values.
+     * @throws IllegalArgumentException If there is no such leaf.
+     * @throws IllegalStateException If the leaf is not a number.
+     */
+    public DoubleStream doubles(String path) {
+        return column(path).doubles();
+    }
+
+    /**
+     * Values of a textual leaf of all the documents, including
+     * {@code null}s.
+     * @param path JSON path to the leaf, e.g. {@code /header/name}.
+     * @return Stream of the values.
+     * @throws IllegalArgumentException If there is no such leaf.
+     * @throws IllegalStateException If the leaf is not textual.
+     */
+    public Stream<String> texts(String path) {
+        return column(path).texts();
+    }
+
+    /**
+     * Values of a boolean leaf of all the documents. {@code null}s are given
+     * as {@code false}.
+     * @param path JSON path to the leaf, e.g. {@code /header/active}.
+     * @return Stream of the values.
+     * @throws IllegalArgumentException If there is no such leaf.
+     * @throws IllegalStateException If the leaf is not a boolean.
+     */
+    public Stream<Boolean> bools(String path) {
+        return column(path).bools();
+    }
+
+    private Column column(String path) {
+        final Integer index;
+        if (path.isEmpty()) {
+            index = paths.get(path);
+        } else {
+            index = paths.get(new Pointer(path).value().toString());
+        }
+        if (index == null) {
+            throw new IllegalArgumentException(
+                "No such leaf in the batch: " + path
+            );
+        }
+        return columns.get(index);
+    }
+
+    private void create(JsonNode node, String path) {
+        if (node.isObject()) {
+            final Iterable<Map.Entry<String, JsonNode>> fields = node::fields;
+            for (Map.Entry<String, JsonNode> field : fields) {
+                create(
+                    field.getValue(),
+                    path + '/'
+                        + field.getKey().replace("~", "~0").replace("/", "~1")
+                );
+            }
+        } else if (node.isArray()) {
+            for (int idx = 0; idx < node.size(); ++idx) {
+                create(node.get(idx), path + '/' + idx);
+            }
+        } else {
+            paths.put(path, columns.size());
+            names.add(path);
+            columns.add(new TextColumn());
+            nulls.add(new BitSet());
+        }
+    }
+
+    private int append(JsonNode expected, JsonNode node, int column, int row) {
+        int next = column;
+        if (expected.isContainerNode()) {
+            if (node.getNodeType() != expected.getNodeType()
+                || node.size() != expected.size()) {
+                throw mismatch(row, "");
+            }
+            if (expected.isObject()) {
+                final Iterable<String> fields = expected::fieldNames;
+                for (String field : fields) {
+                    final JsonNode child = node.get(field);
+                    if (child == null) {
+                        throw mismatch(row, " at field " + field);
+                    }
+                    next = append(expected.get(field), child, next, row);
+                }
+            } else {
+                for (int idx = 0; idx < expected.size(); ++idx) {
+                    next = append(expected.get(idx), node.get(idx), next, row);
+                }
+            }
+        } else {
+            final Column accepting = columns.get(column).accepting(node);
+            if (accepting == null) {
+                throw mismatch(row, " at " + names.get(column));
+            }
+            columns.set(column, accepting);
+            accepting.add(node);
+            if (node.isNull()) {
+                nulls.get(column).set(row);
+            }
+            ++next;
+        }
+        return next;
+    }
+
+    private static IllegalArgumentException mismatch(int row, String where) {
+        return new IllegalArgumentException(
+            "Document " + row + " does not match the shape of the first "
+                + "document" + where
+        );
+    }
+
+    private JsonNode node(
+        JsonNode expected, int row, PrimitiveIterator.OfInt column
+    ) {
+        final JsonNode node;
+        if (expected.isObject()) {
+            final ObjectNode object = NODES.objectNode();
+            final Iterable<String> fields = expected::fieldNames;
+            for (String field : fields) {
+                object.set(field, node(expected.get(field), row, column));
+            }
+            node = object;
+        } else if (expected.isArray()) {
+            final ArrayNode array = NODES.arrayNode(expected.size());
+            for (JsonNode child : expected) {
+                array.add(node(child, row, column));
+            }
+            node = array;
+        } else {
+            final int idx = column.nextInt();
+            if (nulls.get(idx).get(row)) {
+                node = NullNode.getInstance();
+            } else {
+                node = columns.get(idx).node(row);
+            }
+        }
+        return node;
+    }
+}
@@ -0,0 +1,126 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Records of newline delimited JSON (JSON Lines, NDJSON), e.g.
+ * <pre>
+ * {@code
+ * try (Stream<SmartJson> records = new JsonLines(path).stream()) {
+ *     records.filter(r -> r.leafAsBool("active")).forEach(...);
+ * }
+ * }
+ * </pre>
+ * Records are pulled lazily, one at a time, by a single Jackson parser, so
+ * only the current record is held in memory, regardless of the size of the
+ * input. Blank lines are skipped. A file can be iterated many times and is
+ * opened anew for every iteration, while a stream can be iterated only once.
+ * <p>
+ * <b>The {@link Stream} of a file must be used in try-with-resources</b>, as
+ * in the example above. The file is open from the start of the iteration
+ * until it reaches the end, or until the {@link Stream} is closed. So a
+ * stream which is not consumed to the end, e.g. because of
+ * {@code findFirst}, {@code limit}, or an exception, keeps the file open
+ * until it is closed, and without try-with-resources it never is. For the
+ * same reason, a file should be iterated by {@link #iterator()}, e.g. in a
+ * for-each loop, only to the end.
+ */
+public final class JsonLines implements Iterable<SmartJson> {
+
+    private static final ObjectReader READER =
+        new ObjectMapper().readerFor(JsonNode.class);
+
+    private final Checked<InputStream> input;
+
+    /**
+     * Constructor. Each {@link #stream()} of the file must be closed, see
+     * above.
+     * @param path Path of a JSON Lines file.
+     */
+    public JsonLines(Path path) {
+        this(() -> Files.newInputStream(path));
+    }
+
+    /**
+     * Constructor.
+     * @param stream Stream of JSON Lines, which can be iterated only once.
+     */
+    public JsonLines(InputStream stream) {
+        this(() -> stream);
+    }
+
+    private JsonLines(Checked<InputStream> input) {
+        this.input = input;
+    }
+
+    @Override
+    public Iterator<SmartJson> iterator() {
+        return records();
+    }
+
+    /**
+     * Sequential stream of the records, which holds the input open until it
+     * is consumed to the end or closed, so it must be used in
+     * try-with-resources.
+     * @return Stream of records.
+     */
+    public Stream<SmartJson> stream() {
+        final Records records = records();
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                records, Spliterator.ORDERED | Spliterator.NONNULL
+            ),
+            false
+        ).onClose(records::close);
+    }
+
+    private Records records() {
+        return new Records(
+            new Unchecked<>(
+                () -> READER.<JsonNode>readValues(input.value())
+            ).value()
+        );
+    }
+
+    /**
+     * Records pulled from a Jackson {@link MappingIterator}.
+     */
+    private static final class Records implements Iterator<SmartJson> {
+
+        private final MappingIterator<JsonNode> nodes;
+
+        Records(MappingIterator<JsonNode> nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nodes.hasNext();
+        }
+
+        @Override
+        public SmartJson next() {
+            return new SmartJson(new TreeJson(nodes.next()));
+        }
+
+        void close() {
+            new Unchecked<>(
+                () -> {
+                    nodes.close();
+                    return nodes;
+                }
+            ).value();
+        }
+    }
+}
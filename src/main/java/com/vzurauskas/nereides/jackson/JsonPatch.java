@@ -0,0 +1,179 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * JSON Patch (RFC 6902) which turns one JSON into another, e.g.
+ * <pre>
+ * {@code
+ * Json delta = new JsonPatch(previous, current);
+ * ...
+ * MutableJson state = new MutableJson(previous).patch(delta);
+ * }
+ * </pre>
+ * The patch is made in a single pass over the trees of both JSONs, so it
+ * takes time linear in their size. Fields of objects are compared by name,
+ * and branches with the same {@link Structure} produce no operations.
+ * Elements of arrays are aligned by the shortest sequence of insertions and
+ * removals, as long as it has no more than 64 of them, and the elements
+ * which are not aligned are compared pairwise by position. So insertions
+ * and removals of elements, as well as changes of elements in place, give
+ * the minimal patch, while elements which moved within an array are
+ * replaced rather than moved. Past 64 insertions and removals, the patch
+ * is not minimal any more: apart from their common leading and trailing
+ * elements, such arrays are compared by position only, so a single
+ * insertion among them replaces every element after it. The values in the
+ * patch are shared with the tree of the second JSON, which must not be
+ * modified afterwards. The patch is made on the first access to it.
+ */
+public final class JsonPatch implements Json {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    /**
+     * Maximum number of insertions and removals by which arrays are aligned.
+     */
+    private static final int EDITS = 64;
+
+    private final TreeJson patch;
+
+    /**
+     * Constructor.
+     * @param source JSON to turn into the target.
+     * @param target JSON to turn the source into.
+     */
+    public JsonPatch(Json source, Json target) {
+        this.patch = new TreeJson(
+            new Cached<>(
+                () -> {
+                    final ArrayNode operations = NODES.arrayNode();
+                    diff(
+                        new Tree(source).value(),
+                        new Tree(target).value(),
+                        "",
+                        operations
+                    );
+                    return operations;
+                }
+            )
+        );
+    }
+
+    /**
+     * The tree of this patch, which is shared, so it must not be modified.
+     * @return The tree.
+     */
+    JsonNode node() {
+        return patch.node();
+    }
+
+    @Override
+    public InputStream bytes() {
+        return patch.bytes();
+    }
+
+    @Override
+    public String toString() {
+        return new String(new ByteArray(this).value());
+    }
+
+    private static void diff(
+        JsonNode source, JsonNode target, String path, ArrayNode operations
+    ) {
+        if (source.isObject() && target.isObject()) {
+            objects(source, target, path, operations);
+        } else if (source.isArray() && target.isArray()) {
+            arrays(source, target, path, operations);
+        } else if (!source.equals(Structure::compare, target)) {
+            operations.add(
+                operation("replace", path).set("value", target)
+            );
+        }
+    }
+
+    private static void objects(
+        JsonNode source, JsonNode target, String path, ArrayNode operations
+    ) {
+        final Iterable<Map.Entry<String, JsonNode>> removed = source::fields;
+        for (Map.Entry<String, JsonNode> field : removed) {
+            final JsonNode other = target.get(field.getKey());
+            final String child = child(path, field.getKey());
+            if (other == null) {
+                operations.add(operation("remove", child));
+            } else {
+                diff(field.getValue(), other, child, operations);
+            }
+        }
+        final Iterable<Map.Entry<String, JsonNode>> added = target::fields;
+        for (Map.Entry<String, JsonNode> field : added) {
+            if (!source.has(field.getKey())) {
+                operations.add(
+                    operation("add", child(path, field.getKey()))
+                        .set("value", field.getValue())
+                );
+            }
+        }
+    }
+
+    private static void arrays(
+        JsonNode source, JsonNode target, String path, ArrayNode operations
+    ) {
+        final int[] kept = new Alignment(source, target, EDITS).value();
+        int idx = 0;
+        int other = 0;
+        while (idx < kept.length || other < target.size()) {
+            if (idx < kept.length && kept[idx] == other) {
+                ++idx;
+                ++other;
+            } else {
+                idx = changed(
+                    source, target, kept, idx, other, path, operations
+                );
+                other = idx < kept.length ? kept[idx] : target.size();
+            }
+        }
+    }
+
+    private static int changed(
+        JsonNode source, JsonNode target, int[] kept, int from, int start,
+        String path, ArrayNode operations
+    ) {
+        int next = from;
+        while (next < kept.length && kept[next] < 0) {
+            ++next;
+        }
+        final int removed = next - from;
+        final int added = (next < kept.length ? kept[next] : target.size())
+            - start;
+        final int common = Math.min(removed, added);
+        for (int idx = 0; idx < common; ++idx) {
+            diff(
+                source.get(from + idx), target.get(start + idx),
+                path + '/' + (start + idx), operations
+            );
+        }
+        for (int idx = start + removed - 1; idx >= start + common; --idx) {
+            operations.add(operation("remove", path + '/' + idx));
+        }
+        for (int idx = start + common; idx < start + added; ++idx) {
+            operations.add(
+                operation("add", path + '/' + idx)
+                    .set("value", target.get(idx))
+            );
+        }
+        return next;
+    }
+
+    private static ObjectNode operation(String operation, String path) {
+        return NODES.objectNode().put("op", operation).put("path", path);
+    }
+
+    private static String child(String path, String name) {
+        return path + '/' + name.replace("~", "~0").replace("/", "~1");
+    }
+}
@@ -0,0 +1,126 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.function.Function;
+
+/**
+ * Leaves (primitive fields) of a JSON, which are typed the same way
+ * however the nodes at paths are found, so {@link SmartJson} which looks
+ * them up in its tree and {@link StreamingJson} which streams through its
+ * bytes give the same leaves.
+ */
+final class Leaves {
+
+    private final Function<String, JsonNode> nodes;
+
+    /**
+     * Constructor.
+     * @param nodes Function giving the node at a path, or a missing node if
+     *  there is no node at the path.
+     */
+    Leaves(Function<String, JsonNode> nodes) {
+        this.nodes = nodes;
+    }
+
+    Optional<String> optLeaf(String path) {
+        return node(path).map(JsonNode::textValue);
+    }
+
+    String leaf(String path) {
+        return optLeaf(path).orElseThrow(() -> missing(path));
+    }
+
+    Optional<Integer> optLeafAsInt(String path) {
+        return node(path).map(JsonNode::intValue);
+    }
+
+    int leafAsInt(String path) {
+        return present(path).intValue();
+    }
+
+    int leafAsInt(String path, int otherwise) {
+        final JsonNode node = nodes.apply(path);
+        return node.isMissingNode() ? otherwise : node.intValue();
+    }
+
+    OptionalInt optIntLeaf(String path) {
+        final JsonNode node = nodes.apply(path);
+        return node.isMissingNode()
+            ? OptionalInt.empty()
+            : OptionalInt.of(node.intValue());
+    }
+
+    long leafAsLong(String path) {
+        return present(path).longValue();
+    }
+
+    long leafAsLong(String path, long otherwise) {
+        final JsonNode node = nodes.apply(path);
+        return node.isMissingNode() ? otherwise : node.longValue();
+    }
+
+    OptionalLong optLongLeaf(String path) {
+        final JsonNode node = nodes.apply(path);
+        return node.isMissingNode()
+            ? OptionalLong.empty()
+            : OptionalLong.of(node.longValue());
+    }
+
+    Optional<Double> optLeafAsDouble(String path) {
+        return node(path).map(JsonNode::doubleValue);
+    }
+
+    double leafAsDouble(String path) {
+        return present(path).doubleValue();
+    }
+
+    double leafAsDouble(String path, double otherwise) {
+        final JsonNode node = nodes.apply(path);
+        return node.isMissingNode() ? otherwise : node.doubleValue();
+    }
+
+    OptionalDouble optDoubleLeaf(String path) {
+        final JsonNode node = nodes.apply(path);
+        return node.isMissingNode()
+            ? OptionalDouble.empty()
+            : OptionalDouble.of(node.doubleValue());
+    }
+
+    Optional<Boolean> optLeafAsBool(String path) {
+        return node(path).map(JsonNode::booleanValue);
+    }
+
+    boolean leafAsBool(String path) {
+        return present(path).booleanValue();
+    }
+
+    boolean leafAsBool(String path, boolean otherwise) {
+        final JsonNode node = nodes.apply(path);
+        return node.isMissingNode() ? otherwise : node.booleanValue();
+    }
+
+    private Optional<JsonNode> node(String path) {
+        JsonNode node = nodes.apply(path);
+        return node.isMissingNode()
+            ? Optional.empty()
+            : Optional.of(node);
+    }
+
+    private JsonNode present(String path) {
+        final JsonNode node = nodes.apply(path);
+        if (node.isMissingNode()) {
+            throw missing(path);
+        }
+        return node;
+    }
+
+    private static IllegalArgumentException missing(String path) {
+        return new IllegalArgumentException(
+            "No such field of specified type: " + path
+        );
+    }
+}
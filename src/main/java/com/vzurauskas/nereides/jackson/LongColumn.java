@@ -0,0 +1,87 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+import java.util.Arrays;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * {@link Column} of {@code long}s.
+ */
+final class LongColumn implements Column {
+
+    private long[] values;
+    private int size;
+
+    LongColumn(int size) {
+        this.values = new long[Math.max(size, 1)];
+        this.size = size;
+    }
+
+    @Override
+    public Column accepting(JsonNode value) {
+        final Column column;
+        if (value.isNull()
+            || value.isIntegralNumber() && value.canConvertToLong()) {
+            column = this;
+        } else if (value.isNumber()) {
+            final DoubleColumn doubles = new DoubleColumn(0);
+            longs().forEach(doubles::add);
+            column = doubles;
+        } else {
+            column = null;
+        }
+        return column;
+    }
+
+    @Override
+    public void add(JsonNode value) {
+        add(value.longValue());
+    }
+
+    @Override
+    public void trim() {
+        values = Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public JsonNode node(int row) {
+        return LongNode.valueOf(values[row]);
+    }
+
+    @Override
+    public IntStream ints() {
+        throw new IllegalStateException("Column of longs is not of ints");
+    }
+
+    @Override
+    public LongStream longs() {
+        return Arrays.stream(values, 0, size);
+    }
+
+    @Override
+    public DoubleStream doubles() {
+        return longs().asDoubleStream();
+    }
+
+    @Override
+    public Stream<String> texts() {
+        throw new IllegalStateException("Column of longs is not textual");
+    }
+
+    @Override
+    public Stream<Boolean> bools() {
+        throw new IllegalStateException("Column of longs is not of booleans");
+    }
+
+    void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        ++size;
+    }
+}
@@ -0,0 +1,149 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Lookup of a single node in a {@link Json} by streaming through its tokens
+ * instead of building a tree. Branches which cannot contain the node are
+ * skipped and the stream is abandoned as soon as the node is found.
+ */
+final class Lookup {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Json json;
+    private final JsonPointer pointer;
+
+    Lookup(Json json, JsonPointer pointer) {
+        this.json = json;
+        this.pointer = pointer;
+    }
+
+    /**
+     * Read the node, if it exists. Only the node itself is materialized.
+     * @return The node or empty, if there is no such node.
+     */
+    Optional<JsonNode> node() {
+        return new Unchecked<>(
+            () -> {
+                try (JsonParser parser = MAPPER.createParser(json.bytes())) {
+                    final Optional<JsonNode> node;
+                    if (seek(parser)) {
+                        node = Optional.of(parser.readValueAsTree());
+                    } else {
+                        node = Optional.empty();
+                    }
+                    return node;
+                }
+            }
+        ).value();
+    }
+
+    /**
+     * Tell if the node exists and is not {@code null}. Nothing but the node's
+     * first token is read. A JSON which cannot be parsed is not empty, so if
+     * its tokens are malformed before the node is reached, it is assumed to
+     * exist.
+     * @return True if the node exists.
+     */
+    boolean exists() {
+        return new Unchecked<>(
+            () -> {
+                boolean exists;
+                try (JsonParser parser = MAPPER.createParser(json.bytes())) {
+                    exists = seek(parser)
+                        && parser.currentToken() != JsonToken.VALUE_NULL;
+                } catch (JsonParseException ex) {
+                    exists = true;
+                }
+                return exists;
+            }
+        ).value();
+    }
+
+    /**
+     * Copy the tokens of the node into a byte array without materializing
+     * the node.
+     * @return Bytes of the node or empty array, if there is no such node.
+     */
+    byte[] bytes() {
+        return new Unchecked<>(
+            () -> {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                try (JsonParser parser = MAPPER.createParser(json.bytes())) {
+                    if (seek(parser)) {
+                        try (JsonGenerator gen = MAPPER.createGenerator(out)) {
+                            gen.copyCurrentStructure(parser);
+                        }
+                    }
+                }
+                return out.toByteArray();
+            }
+        ).value();
+    }
+
+    /**
+     * Move the parser to the first token of the node.
+     * @param parser Parser at the beginning of the JSON.
+     * @return True if the node is found, false if there is no such node.
+     * @throws IOException If the JSON cannot be read.
+     */
+    boolean seek(JsonParser parser) throws IOException {
+        boolean found = parser.nextToken() != null;
+        JsonPointer remaining = pointer;
+        while (found && !remaining.matches()) {
+            found = descend(parser, remaining);
+            remaining = remaining.tail();
+        }
+        return found;
+    }
+
+    private static boolean descend(JsonParser parser, JsonPointer pointer)
+        throws IOException {
+        final boolean found;
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            found = field(parser, pointer.getMatchingProperty());
+        } else if (parser.currentToken() == JsonToken.START_ARRAY) {
+            found = element(parser, pointer.getMatchingIndex());
+        } else {
+            found = false;
+        }
+        return found;
+    }
+
+    private static boolean field(JsonParser parser, String name)
+        throws IOException {
+        boolean found = false;
+        while (!found && parser.nextToken() == JsonToken.FIELD_NAME) {
+            found = name.equals(parser.getCurrentName());
+            parser.nextToken();
+            if (!found) {
+                parser.skipChildren();
+            }
+        }
+        return found;
+    }
+
+    private static boolean element(JsonParser parser, int index)
+        throws IOException {
+        boolean found = false;
+        int remaining = index;
+        while (!found && parser.nextToken() != JsonToken.END_ARRAY) {
+            found = remaining == 0;
+            if (!found) {
+                parser.skipChildren();
+                --remaining;
+            }
+        }
+        return found;
+    }
+}
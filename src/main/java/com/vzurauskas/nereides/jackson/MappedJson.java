@@ -0,0 +1,88 @@
+package com.vzurauskas.nereides.jackson;
+
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link Json} in a file, which is memory-mapped instead of being read onto
+ * the heap, e.g.
+ * <pre>
+ * {@code
+ * SmartJson catalog = new SmartJson(new MappedJson(path));
+ * }
+ * </pre>
+ * The file is mapped on the first call to {@link #bytes()} and the mapping
+ * is reused by all the subsequent calls, so the length of the file is fixed
+ * at that moment. Each call gives an independent stream over the mapping,
+ * so this JSON can be read by many threads at the same time. Files larger
+ * than a single mapping can hold are mapped in several consecutive regions.
+ * <p>
+ * The mapping is not a copy: changes written to the file in place show
+ * through it, truncating the file while it is mapped may crash the JVM,
+ * and the mapping is released only when this JSON is garbage collected,
+ * so on some systems, e.g. Windows, the file can not be deleted until
+ * then. So the file must not be modified while this JSON is in use. If
+ * that can not be guaranteed, {@link Json.Of} reads the file onto the heap.
+ */
+public final class MappedJson implements Json {
+
+    private final Cached<List<ByteBuffer>> regions;
+
+    /**
+     * Constructor.
+     * @param path Path to a JSON in a file.
+     */
+    public MappedJson(Path path) {
+        this(path, Integer.MAX_VALUE);
+    }
+
+    MappedJson(Path path, int region) {
+        this.regions = new Cached<>(
+            () -> new Unchecked<>(
+                () -> {
+                    try (
+                        FileChannel channel = FileChannel.open(
+                            path, StandardOpenOption.READ
+                        )
+                    ) {
+                        final List<ByteBuffer> mapped = new ArrayList<>(1);
+                        final long size = channel.size();
+                        for (long pos = 0; pos < size; pos += region) {
+                            mapped.add(
+                                channel.map(
+                                    FileChannel.MapMode.READ_ONLY,
+                                    pos,
+                                    Math.min(region, size - pos)
+                                )
+                            );
+                        }
+                        return mapped;
+                    }
+                }
+            ).value()
+        );
+    }
+
+    @Override
+    public InputStream bytes() {
+        final List<ByteBuffer> mapped = regions.value();
+        final InputStream bytes;
+        if (mapped.size() == 1) {
+            bytes = new ByteBufferInputStream(mapped.get(0).duplicate());
+        } else {
+            final List<InputStream> streams = new ArrayList<>(mapped.size());
+            for (ByteBuffer buffer : mapped) {
+                streams.add(new ByteBufferInputStream(buffer.duplicate()));
+            }
+            bytes = new SequenceInputStream(Collections.enumeration(streams));
+        }
+        return bytes;
+    }
+}
@@ -1,8 +1,11 @@
 package com.vzurauskas.nereides.jackson;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * JSON which is mutable and can be used to build custom JSONs, e.g.
@@ -20,12 +23,26 @@ import java.io.InputStream;
  * )
  * }
  * </pre>
+ * The JSON is serialized when its bytes are requested for the first time,
+ * and the serialized form is reused until the JSON is changed again.
+ * {@code MutableJson}s are equal if they have the same {@link Structure}.
+ * The hash of the structure is computed when it is needed for the first
+ * time and reused until the JSON is changed again. Unlike other
+ * {@link Json}s, its hash is not stable: it changes with every
+ * {@link #with} and {@link #patch} which changes the JSON. A
+ * {@code MutableJson} which is changed while it is an element of a
+ * {@code HashSet} or a key of a {@code HashMap} can not be found in it any
+ * more, so it must be changed only before it is put there, or be wrapped
+ * in an immutable {@link SmartJson} first, e.g.
+ * {@code set.add(new SmartJson(new Json.Of(mutable.bytes())))}.
  */
 public final class MutableJson implements Json {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
     private final ObjectNode base;
+    private volatile byte[] encoded;
+    private volatile Long hash;
 
     /**
      * Constructor.
@@ -39,11 +56,7 @@ public final class MutableJson implements Json {
      * @param base The base JSON to build upon.
      */
     public MutableJson(Json base) {
-        this(
-            (ObjectNode) new Unchecked<>(
-                () -> MAPPER.readTree(base.bytes())
-            ).value()
-        );
+        this((ObjectNode) new Tree(base).copy());
     }
 
     private MutableJson(ObjectNode base) {
@@ -58,7 +71,7 @@ public final class MutableJson implements Json {
      */
     public MutableJson with(String name, String value) {
         base.put(name, value);
-        return this;
+        return changed();
     }
 
     /**
@@ -69,7 +82,7 @@ public final class MutableJson implements Json {
      */
     public MutableJson with(String name, int value) {
         base.put(name, value);
-        return this;
+        return changed();
     }
 
     /**
@@ -80,7 +93,7 @@ public final class MutableJson implements Json {
      */
     public MutableJson with(String name, double value) {
         base.put(name, value);
-        return this;
+        return changed();
     }
 
     /**
@@ -91,28 +104,119 @@ public final class MutableJson implements Json {
      */
     public MutableJson with(String name, boolean value) {
         base.put(name, value);
-        return this;
+        return changed();
     }
 
     /**
      * Add a {@link Json} field to this JSON. If the added {@link Json} is a,
-     * other fields can be added to it, thus enabling nesting.
+     * other fields can be added to it, thus enabling nesting. The added JSON
+     * is copied, so changing it afterwards does not change this JSON. If it
+     * is a {@link MutableJson}, a {@link SmartJson} or another JSON which
+     * already holds a parsed tree, the tree is copied directly, without
+     * serializing and parsing it. A missing JSON is added as {@code null}.
      * @param name Name of the field.
      * @param value Value of the field.
      * @return This JSON.
      */
     public MutableJson with(String name, Json value) {
-        base.set(name, new SmartJson(value).objectNode());
-        return this;
+        final JsonNode node = new Tree(value).copy();
+        if (node.isMissingNode()) {
+            base.putNull(name);
+        } else {
+            base.set(name, node);
+        }
+        return changed();
+    }
+
+    /**
+     * Apply a JSON Patch (RFC 6902), e.g. a {@link JsonPatch}, to this JSON
+     * in place. Each operation only navigates to the node it changes, so
+     * even large JSONs are patched quickly. The patch is applied as a
+     * whole or not at all: if one of its operations fails, the changes made
+     * by the ones before it are undone, and this JSON stays as it was.
+     * @param patch The patch.
+     * @return This JSON.
+     * @throws IllegalArgumentException If the patch is malformed or can not
+     *  be applied to this JSON.
+     */
+    public MutableJson patch(Json patch) {
+        new Patch(patch).apply(base);
+        return changed();
+    }
+
+    /**
+     * The tree of this JSON, which must not be modified other than through
+     * the methods of this JSON.
+     * @return The tree.
+     */
+    ObjectNode node() {
+        return base;
     }
 
     @Override
     public InputStream bytes() {
-        return new Json.Of(base).bytes();
+        return new ByteArrayInputStream(serialized());
+    }
+
+    /**
+     * Write this JSON to an {@link OutputStream}. If this JSON is already
+     * serialized and has not changed since, the serialized bytes are
+     * written; otherwise its tree is streamed through a generator. The
+     * stream is flushed, but not closed.
+     * @param out Stream to write to.
+     */
+    @Override
+    public void writeTo(OutputStream out) {
+        final byte[] bytes = encoded;
+        if (bytes == null) {
+            new Output(this).writeTo(out);
+        } else {
+            new Unchecked<>(
+                () -> {
+                    out.write(bytes);
+                    out.flush();
+                    return out;
+                }
+            ).value();
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof MutableJson
+            && hashCode() == other.hashCode()
+            && new Structure(this).matches((MutableJson) other);
+    }
+
+    @Override
+    public int hashCode() {
+        Long value = hash;
+        if (value == null) {
+            value = new Structure(this).hash();
+            hash = value;
+        }
+        return Long.hashCode(value);
     }
 
     @Override
     public String toString() {
-        return new String(new ByteArray(this).value());
+        return new String(serialized());
+    }
+
+    private MutableJson changed() {
+        encoded = null;
+        hash = null;
+        return this;
+    }
+
+    private byte[] serialized() {
+        byte[] bytes = encoded;
+        if (bytes == null) {
+            bytes = new Unchecked<>(
+                () -> MAPPER.writeValueAsBytes(base)
+            ).value();
+            encoded = bytes;
+        }
+        return bytes;
     }
 }
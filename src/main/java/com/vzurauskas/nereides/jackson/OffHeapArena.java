@@ -0,0 +1,165 @@
+package com.vzurauskas.nereides.jackson;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Arena of direct memory for {@link OffHeapJson}s, e.g. for large caches of
+ * documents, which would otherwise make the garbage collector scan and copy
+ * gigabytes of byte arrays, e.g.
+ * <pre>
+ * {@code
+ * try (OffHeapArena arena = new OffHeapArena()) {
+ *     OffHeapJson stored = arena.store(json);
+ *     ...
+ *     stored.release();
+ * }
+ * }
+ * </pre>
+ * The memory is allocated in slabs, and documents are stored in them one
+ * after another. The bytes of a document are first read onto the heap,
+ * without holding the lock of the arena, so a slow source does not keep
+ * other threads from storing and releasing documents. Only then the space
+ * is allocated and the bytes are copied into it, under the lock. A document
+ * which does not fit into the rest of the current slab starts the next one,
+ * and a document larger than a slab gets a larger slab, with room to spare
+ * for the following documents. When all
+ * the documents of a slab are released, the slab is reused for new
+ * documents, so a cache whose documents come and go keeps reusing the same
+ * memory instead of allocating more. Direct memory can not be freed
+ * explicitly on Java 8, so closing the arena only releases all its documents
+ * and drops its slabs, whose memory is freed by the garbage collector once
+ * the documents are unreachable as well. All the methods are thread-safe.
+ */
+public final class OffHeapArena implements AutoCloseable {
+
+    private static final int DEFAULT_SLAB = 16 * 1024 * 1024;
+
+    private final int capacity;
+    private final List<Slab> slabs;
+    private final Deque<Slab> free;
+    private Slab current;
+    private long used;
+    private boolean closed;
+
+    /**
+     * Constructor, which allocates the memory in slabs of 16 MiB.
+     */
+    public OffHeapArena() {
+        this(DEFAULT_SLAB);
+    }
+
+    /**
+     * Constructor.
+     * @param capacity Number of bytes of each slab.
+     */
+    public OffHeapArena(int capacity) {
+        this.capacity = capacity;
+        this.slabs = new ArrayList<>(1);
+        this.free = new ArrayDeque<>(1);
+    }
+
+    /**
+     * Copy the bytes of a JSON into this arena.
+     * @param json JSON to store.
+     * @return The stored JSON.
+     * @throws IllegalStateException If this arena is closed.
+     */
+    public OffHeapJson store(Json json) {
+        return commit(new ByteArray(json).value());
+    }
+
+    /**
+     * Number of bytes of direct memory this arena holds.
+     * @return Number of bytes.
+     */
+    public synchronized long allocated() {
+        long allocated = 0;
+        for (Slab slab : slabs) {
+            allocated += slab.buffer().capacity();
+        }
+        return allocated;
+    }
+
+    /**
+     * Number of bytes of the documents which are not released yet.
+     * @return Number of bytes.
+     */
+    public synchronized long used() {
+        return used;
+    }
+
+    /**
+     * Release all the documents and drop all the slabs of this arena. It can
+     * not store documents after that.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for (Slab slab : slabs) {
+            slab.recycle();
+        }
+        slabs.clear();
+        free.clear();
+        current = null;
+        used = 0;
+    }
+
+    synchronized void release(Slab slab, int generation, int size) {
+        if (slab.generation() == generation) {
+            used -= size;
+            if (slab.release()) {
+                if (slab == current) {
+                    slab.recycle();
+                } else {
+                    retire(slab);
+                }
+            }
+        }
+    }
+
+    private synchronized OffHeapJson commit(byte[] bytes) {
+        if (closed) {
+            throw new IllegalStateException("Off-heap arena is closed");
+        }
+        if (current == null || current.buffer().remaining() < bytes.length) {
+            if (current != null && current.empty()) {
+                retire(current);
+            }
+            current = slab(bytes.length);
+        }
+        final int start = current.buffer().position();
+        current.buffer().put(bytes);
+        current.retain();
+        final OffHeapJson stored = new OffHeapJson(
+            this, current, start, current.buffer().position()
+        );
+        used += stored.size();
+        return stored;
+    }
+
+    private Slab slab(int size) {
+        final Slab slab;
+        if (size > capacity) {
+            slab = new Slab((int) Math.min(Integer.MAX_VALUE - 8, 2L * size));
+            slabs.add(slab);
+        } else if (free.isEmpty()) {
+            slab = new Slab(capacity);
+            slabs.add(slab);
+        } else {
+            slab = free.pop();
+        }
+        return slab;
+    }
+
+    private void retire(Slab slab) {
+        slab.recycle();
+        if (slab.buffer().capacity() == capacity) {
+            free.push(slab);
+        } else {
+            slabs.remove(slab);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.vzurauskas.nereides.jackson;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link Json} whose bytes are stored off the heap, in direct memory of an
+ * {@link OffHeapArena}, e.g.
+ * <pre>
+ * {@code
+ * OffHeapJson stored = arena.store(new Json.Of(bytes));
+ * String name = new SmartJson(stored).leaf("name");
+ * stored.release();
+ * }
+ * </pre>
+ * The bytes are not scanned by the garbage collector, and each call to
+ * {@link #bytes()} streams them straight from the direct memory into
+ * Jackson. This JSON can be read by many threads at the same time. After
+ * it is released, or after its arena is closed, its space is reused by
+ * other documents, and {@link #bytes()} fails. A stream which is still
+ * being read at that moment fails too: it checks the generation of its slab
+ * before and after each read, and throws {@link IllegalStateException} once
+ * the slab has been recycled, so it never gives the bytes of another
+ * document away as the bytes of this one.
+ */
+public final class OffHeapJson implements Json {
+
+    private final OffHeapArena arena;
+    private final Slab slab;
+    private final int generation;
+    private final int start;
+    private final int end;
+    private final AtomicBoolean released;
+
+    OffHeapJson(OffHeapArena arena, Slab slab, int start, int end) {
+        this.arena = arena;
+        this.slab = slab;
+        this.generation = slab.generation();
+        this.start = start;
+        this.end = end;
+        this.released = new AtomicBoolean();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws IllegalStateException If this JSON is released or its arena
+     *  is closed, also when the returned stream is read later.
+     */
+    @Override
+    public InputStream bytes() {
+        if (released.get()) {
+            throw gone();
+        }
+        return new Checked(slab, generation, slab.region(start, end));
+    }
+
+    /**
+     * Number of bytes of this JSON.
+     * @return Number of bytes.
+     */
+    public int size() {
+        return end - start;
+    }
+
+    /**
+     * Give the space of this JSON back to its arena. Releasing it again
+     * does nothing.
+     */
+    public void release() {
+        if (released.compareAndSet(false, true)) {
+            arena.release(slab, generation, size());
+        }
+    }
+
+    private static IllegalStateException gone() {
+        return new IllegalStateException(
+            "Off-heap JSON is released, its bytes are gone"
+        );
+    }
+
+    /**
+     * Stream over the bytes of a slab, which fails as soon as the slab is
+     * recycled.
+     */
+    private static final class Checked extends InputStream {
+
+        private final Slab slab;
+        private final int generation;
+        private final ByteBufferInputStream bytes;
+
+        Checked(Slab slab, int generation, ByteBuffer region) {
+            super();
+            this.slab = slab;
+            this.generation = generation;
+            this.bytes = new ByteBufferInputStream(region);
+            this.check();
+        }
+
+        @Override
+        public int read() {
+            this.check();
+            final int next = bytes.read();
+            this.check();
+            return next;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            this.check();
+            final int read = bytes.read(buffer, offset, length);
+            this.check();
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return bytes.available();
+        }
+
+        private void check() {
+            if (slab.generation() != generation) {
+                throw gone();
+            }
+        }
+    }
+}
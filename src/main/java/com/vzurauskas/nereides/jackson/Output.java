@@ -0,0 +1,95 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Output of a {@link Json} to an {@link OutputStream}, which is exactly the
+ * bytes of the JSON. JSONs whose bytes are serialized from their tree have
+ * the tree streamed through a Jackson generator, and the bytes of other
+ * JSONs, including the ones which hold a parsed tree next to their bytes,
+ * are copied in bulk, so no intermediate buffer of the full size of the
+ * JSON is needed. A missing tree is written as no bytes at all. The stream
+ * is flushed but not closed.
+ */
+final class Output {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int BUFFER = 8192;
+
+    private final Json json;
+
+    Output(Json json) {
+        this.json = json;
+    }
+
+    void writeTo(OutputStream out) {
+        if (json instanceof MutableJson) {
+            generate(MAPPER.getFactory(), ((MutableJson) json).node(), out);
+        } else if (json instanceof Json.Of) {
+            new Output(((Json.Of) json).origin()).writeTo(out);
+        } else if (
+            json instanceof TreeJson || json instanceof BinaryJson
+                || json instanceof JsonPatch
+        ) {
+            generate(MAPPER.getFactory(), new Tree(json).value(), out);
+        } else {
+            copy(json.bytes(), out);
+        }
+    }
+
+    /**
+     * Encode the JSON in a format supported by Jackson, such as Smile or
+     * CBOR. The tree of the JSON is parsed, unless it is held.
+     * @param format Jackson factory of the format.
+     * @return Bytes of the JSON in the format.
+     */
+    byte[] encoded(JsonFactory format) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        generate(format, new Tree(json).value(), out);
+        return out.toByteArray();
+    }
+
+    private static void generate(
+        JsonFactory format, JsonNode node, OutputStream out
+    ) {
+        new Unchecked<>(
+            () -> {
+                try (
+                    JsonGenerator gen = format.createGenerator(out).disable(
+                        JsonGenerator.Feature.AUTO_CLOSE_TARGET
+                    )
+                ) {
+                    if (!node.isMissingNode()) {
+                        MAPPER.writeTree(gen, node);
+                    }
+                }
+                return out;
+            }
+        ).value();
+    }
+
+    private static void copy(InputStream bytes, OutputStream out) {
+        new Unchecked<>(
+            () -> {
+                try (InputStream input = bytes) {
+                    final byte[] buffer = new byte[BUFFER];
+                    while (true) {
+                        final int read = input.read(buffer);
+                        if (read == -1) {
+                            break;
+                        }
+                        out.write(buffer, 0, read);
+                    }
+                    out.flush();
+                }
+                return out;
+            }
+        ).value();
+    }
+}
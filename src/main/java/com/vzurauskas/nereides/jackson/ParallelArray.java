@@ -0,0 +1,169 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Elements of a huge JSON array, parsed in parallel, e.g.
+ * <pre>
+ * {@code
+ * long active = new ParallelArray(json, "/records").stream()
+ *     .filter(record -> record.leafAsBool("active"))
+ *     .count();
+ * }
+ * </pre>
+ * The bytes of the array are first scanned for element boundaries, which is
+ * much cheaper than parsing, and then the elements are split into chunks,
+ * which are parsed on the {@link java.util.concurrent.ForkJoinPool} running
+ * the stream, the common pool by default. The stream keeps the order of the
+ * elements; if the order does not matter, call {@link Stream#unordered()}
+ * on it, so that operations such as {@code limit} or {@code findAny} do not
+ * have to respect it. The whole JSON is read into memory when the stream is
+ * consumed. If there is no array at the path, the stream is empty. An
+ * element which is malformed, including one followed by anything but a
+ * comma or the end of the array, e.g. {@code [1 2]}, fails the stream with
+ * {@link java.io.UncheckedIOException} when it is consumed.
+ */
+public final class ParallelArray {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectReader READER = MAPPER.reader()
+        .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+    private static final int CHARACTERISTICS = Spliterator.ORDERED
+        | Spliterator.SIZED | Spliterator.SUBSIZED
+        | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
+    private final Json json;
+    private final JsonPointer pointer;
+
+    /**
+     * Constructor for a JSON which is an array itself.
+     * @param json JSON array.
+     */
+    public ParallelArray(Json json) {
+        this(json, JsonPointer.empty());
+    }
+
+    /**
+     * Constructor.
+     * @param json JSON containing the array.
+     * @param path JSON path to the array or the name of the array if it is
+     * directly at the root of the JSON.
+     */
+    public ParallelArray(Json json, String path) {
+        this(json, new Pointer(path).value());
+    }
+
+    private ParallelArray(Json json, JsonPointer pointer) {
+        this.json = json;
+        this.pointer = pointer;
+    }
+
+    /**
+     * Parallel stream of the elements.
+     * @return Stream of the elements.
+     */
+    public Stream<SmartJson> stream() {
+        return StreamSupport.stream(this::elements, CHARACTERISTICS, true);
+    }
+
+    private Spliterator<SmartJson> elements() {
+        final byte[] bytes = new ByteArray(json).value();
+        final int open = open(bytes);
+        final int[] bounds;
+        if (open < 0) {
+            bounds = new int[0];
+        } else {
+            bounds = new Boundaries(bytes, open).value();
+        }
+        return new Elements(bytes, bounds, 0, bounds.length / 2);
+    }
+
+    private int open(byte[] bytes) {
+        return new Unchecked<>(
+            () -> {
+                try (JsonParser parser = MAPPER.createParser(bytes)) {
+                    final int offset;
+                    if (new Lookup(json, pointer).seek(parser)
+                        && parser.currentToken() == JsonToken.START_ARRAY) {
+                        offset = (int) parser.getTokenLocation()
+                            .getByteOffset();
+                    } else {
+                        offset = -1;
+                    }
+                    return offset;
+                }
+            }
+        ).value();
+    }
+
+    /**
+     * Elements from {@code from} (inclusive) to {@code to} (exclusive), which
+     * are parsed when they are consumed.
+     */
+    private static final class Elements implements Spliterator<SmartJson> {
+
+        private final byte[] bytes;
+        private final int[] bounds;
+        private final int to;
+        private int from;
+
+        Elements(byte[] bytes, int[] bounds, int from, int to) {
+            this.bytes = bytes;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super SmartJson> action) {
+            final boolean advanced = from < to;
+            if (advanced) {
+                final int start = bounds[2 * from];
+                final int end = bounds[2 * from + 1];
+                ++from;
+                action.accept(
+                    new SmartJson(
+                        new TreeJson(
+                            new Unchecked<>(
+                                () -> READER.readTree(bytes, start, end - start)
+                            ).value()
+                        )
+                    )
+                );
+            }
+            return advanced;
+        }
+
+        @Override
+        public Spliterator<SmartJson> trySplit() {
+            final Spliterator<SmartJson> prefix;
+            final int middle = (from + to) >>> 1;
+            if (middle > from) {
+                prefix = new Elements(bytes, bounds, from, middle);
+                from = middle;
+            } else {
+                prefix = null;
+            }
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+}
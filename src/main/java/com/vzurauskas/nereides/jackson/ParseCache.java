@@ -0,0 +1,138 @@
+package com.vzurauskas.nereides.jackson;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of parsed JSONs, shared by everyone who parses the same bytes, e.g.
+ * <pre>
+ * {@code
+ * ParseCache cache = new ParseCache(256);
+ * ...
+ * SmartJson template = cache.parse(new Json.Of(path));
+ * }
+ * </pre>
+ * The cache is keyed by the content of the JSONs: their bytes are read and
+ * hashed on each call, and JSONs with equal bytes get the same tree, which
+ * is parsed only once. The bytes are hashed and parsed while the cache is
+ * not locked, so threads parsing different JSONs do not wait for each
+ * other. The trees are shared, but they can not be modified through the
+ * {@link SmartJson}s given by the cache: {@link SmartJson#objectNode()}
+ * gives a copy, and so do {@link MutableJson}s made of them. The cache
+ * holds at most the given number of JSONs and bytes; when it holds more,
+ * the least recently used JSONs are evicted first. It counts hits, misses
+ * and evictions, so its size can be tuned.
+ */
+public final class ParseCache {
+
+    private final int capacity;
+    private final long limit;
+    private final Map<Content, CachedJson> entries;
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructor.
+     * @param capacity Maximum number of JSONs to hold.
+     */
+    public ParseCache(int capacity) {
+        this(capacity, Long.MAX_VALUE);
+    }
+
+    /**
+     * Constructor.
+     * @param capacity Maximum number of JSONs to hold.
+     * @param limit Maximum number of bytes of the JSONs to hold.
+     */
+    public ParseCache(int capacity, long limit) {
+        this.capacity = capacity;
+        this.limit = limit;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Parsed JSON, which is taken from this cache, if JSON with the same
+     * bytes has been parsed before. JSONs which already hold a parsed tree,
+     * such as a {@link MutableJson} or a {@link SmartJson} which has been
+     * parsed, do not need parsing, so they bypass the cache.
+     * @param json JSON to parse.
+     * @return Parsed JSON.
+     */
+    public SmartJson parse(Json json) {
+        final SmartJson parsed;
+        if (new Tree(json).held() || json instanceof MutableJson) {
+            parsed = new SmartJson(json);
+        } else {
+            parsed = new SmartJson(
+                cached(new Content(new ByteArray(json).value()))
+            );
+        }
+        return parsed;
+    }
+
+    /**
+     * Number of JSONs found in this cache.
+     * @return Number of hits.
+     */
+    public synchronized long hits() {
+        return hits;
+    }
+
+    /**
+     * Number of JSONs not found in this cache.
+     * @return Number of misses.
+     */
+    public synchronized long misses() {
+        return misses;
+    }
+
+    /**
+     * Number of JSONs evicted from this cache.
+     * @return Number of evictions.
+     */
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    /**
+     * Number of JSONs held by this cache.
+     * @return Number of JSONs.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Number of bytes of the JSONs held by this cache.
+     * @return Number of bytes.
+     */
+    public synchronized long weight() {
+        return weight;
+    }
+
+    private synchronized CachedJson cached(Content key) {
+        CachedJson json = entries.get(key);
+        if (json == null) {
+            ++misses;
+            json = new CachedJson(key.bytes());
+            entries.put(key, json);
+            weight += key.size();
+            evict();
+        } else {
+            ++hits;
+        }
+        return json;
+    }
+
+    private void evict() {
+        final Iterator<Content> eldest = entries.keySet().iterator();
+        while (entries.size() > capacity || weight > limit) {
+            weight -= eldest.next().size();
+            eldest.remove();
+            ++evictions;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * JSON Patch (RFC 6902), which is applied to a tree in place. All six
+ * operations are supported: {@code add}, {@code remove}, {@code replace},
+ * {@code move}, {@code copy} and {@code test}. Each operation navigates the
+ * tree by its path only, so its cost does not depend on the size of the
+ * tree, except for inserting and removing elements of arrays. Replaced
+ * nodes keep their places, so fields of objects keep their order. Values of
+ * the patch are copied into the tree. The root of the tree must stay an
+ * object. The patch is applied as a whole or not at all: each change is
+ * recorded together with a way to undo it, and if an operation fails, the
+ * changes made by the operations before it are undone in reverse order, so
+ * the tree is not copied to be patched.
+ */
+final class Patch {
+
+    private final Json patch;
+
+    Patch(Json patch) {
+        this.patch = patch;
+    }
+
+    /**
+     * Apply this patch to a tree. If one of the operations fails, the tree
+     * is left as it was before.
+     * @param root The tree.
+     * @throws IllegalArgumentException If this patch is malformed or can not
+     *  be applied to the tree.
+     */
+    void apply(ObjectNode root) {
+        final JsonNode operations = new Tree(patch).value();
+        if (!operations.isArray()) {
+            throw new IllegalArgumentException(
+                "JSON Patch must be an array: " + operations
+            );
+        }
+        final Deque<Runnable> undo = new ArrayDeque<>(operations.size());
+        boolean applied = false;
+        try {
+            for (JsonNode operation : operations) {
+                apply(root, operation, undo);
+            }
+            applied = true;
+        } finally {
+            if (!applied) {
+                undo.forEach(Runnable::run);
+            }
+        }
+    }
+
+    private static void apply(
+        ObjectNode root, JsonNode operation, Deque<Runnable> undo
+    ) {
+        final String name = operation.path("op").asText();
+        final JsonPointer path = pointer(operation, "path");
+        if ("add".equals(name)) {
+            add(root, path, value(operation).deepCopy(), undo);
+        } else if ("remove".equals(name)) {
+            remove(root, path, undo);
+        } else if ("replace".equals(name)) {
+            replace(root, path, value(operation).deepCopy(), undo);
+        } else if ("move".equals(name)) {
+            final JsonPointer from = pointer(operation, "from");
+            if (path.toString().startsWith(from.toString() + '/')) {
+                throw new IllegalArgumentException(
+                    "Can not move a node into itself: " + operation
+                );
+            }
+            add(root, path, remove(root, from, undo), undo);
+        } else if ("copy".equals(name)) {
+            add(
+                root, path,
+                existing(root, pointer(operation, "from")).deepCopy(),
+                undo
+            );
+        } else if ("test".equals(name)) {
+            test(root, path, operation);
+        } else {
+            throw new IllegalArgumentException(
+                "Unknown operation: " + operation
+            );
+        }
+    }
+
+    private static void add(
+        ObjectNode root, JsonPointer path, JsonNode value, Deque<Runnable> undo
+    ) {
+        if (path.matches()) {
+            if (!value.isObject()) {
+                throw new IllegalArgumentException(
+                    "Root must stay an object: " + path
+                );
+            }
+            undo.push(restore(root));
+            root.removeAll();
+            root.setAll((ObjectNode) value);
+        } else {
+            final JsonNode parent = root.at(path.head());
+            final String name = path.last().getMatchingProperty();
+            if (parent.isObject()) {
+                final ObjectNode object = (ObjectNode) parent;
+                final JsonNode previous = object.replace(name, value);
+                if (previous == null) {
+                    undo.push(() -> object.remove(name));
+                } else {
+                    undo.push(() -> object.replace(name, previous));
+                }
+            } else if (parent.isArray() && "-".equals(name)) {
+                final ArrayNode array = (ArrayNode) parent;
+                array.add(value);
+                undo.push(() -> array.remove(array.size() - 1));
+            } else if (parent.isArray()) {
+                final ArrayNode array = (ArrayNode) parent;
+                final int index = index(path, parent.size() + 1);
+                array.insert(index, value);
+                undo.push(() -> array.remove(index));
+            } else {
+                throw new IllegalArgumentException("No such path: " + path);
+            }
+        }
+    }
+
+    private static void replace(
+        ObjectNode root, JsonPointer path, JsonNode value, Deque<Runnable> undo
+    ) {
+        existing(root, path);
+        if (path.matches()) {
+            add(root, path, value, undo);
+        } else {
+            final JsonNode parent = root.at(path.head());
+            if (parent.isObject()) {
+                final ObjectNode object = (ObjectNode) parent;
+                final String name = path.last().getMatchingProperty();
+                final JsonNode previous = object.replace(name, value);
+                undo.push(() -> object.replace(name, previous));
+            } else {
+                final ArrayNode array = (ArrayNode) parent;
+                final int index = index(path, parent.size());
+                final JsonNode previous = array.set(index, value);
+                undo.push(() -> array.set(index, previous));
+            }
+        }
+    }
+
+    private static JsonNode remove(
+        ObjectNode root, JsonPointer path, Deque<Runnable> undo
+    ) {
+        if (path.matches()) {
+            throw new IllegalArgumentException("Root can not be removed");
+        }
+        final JsonNode parent = root.at(path.head());
+        final String name = path.last().getMatchingProperty();
+        final JsonNode removed;
+        if (parent.isObject() && parent.has(name)) {
+            undo.push(restore((ObjectNode) parent));
+            removed = ((ObjectNode) parent).remove(name);
+        } else if (parent.isArray()) {
+            final ArrayNode array = (ArrayNode) parent;
+            final int index = index(path, parent.size());
+            removed = array.remove(index);
+            undo.push(() -> array.insert(index, removed));
+        } else {
+            throw new IllegalArgumentException("No such path: " + path);
+        }
+        return removed;
+    }
+
+    private static Runnable restore(ObjectNode object) {
+        final ObjectNode fields = object.objectNode().setAll(object);
+        return () -> {
+            object.removeAll();
+            object.setAll(fields);
+        };
+    }
+
+    private static void test(
+        ObjectNode root, JsonPointer path, JsonNode operation
+    ) {
+        final JsonNode value = value(operation);
+        if (!existing(root, path).equals(Structure::compare, value)) {
+            throw new IllegalArgumentException("Test failed: " + operation);
+        }
+    }
+
+    private static JsonNode existing(ObjectNode root, JsonPointer path) {
+        final JsonNode node = root.at(path);
+        if (node.isMissingNode()) {
+            throw new IllegalArgumentException("No such path: " + path);
+        }
+        return node;
+    }
+
+    private static int index(JsonPointer path, int bound) {
+        final int index = path.last().getMatchingIndex();
+        if (index < 0 || index >= bound) {
+            throw new IllegalArgumentException("No such index: " + path);
+        }
+        return index;
+    }
+
+    private static JsonPointer pointer(JsonNode operation, String field) {
+        final JsonNode path = operation.get(field);
+        if (path == null || !path.isTextual()) {
+            throw new IllegalArgumentException(
+                "No " + field + " in the operation: " + operation
+            );
+        }
+        return JsonPointer.compile(path.textValue());
+    }
+
+    private static JsonNode value(JsonNode operation) {
+        final JsonNode value = operation.get("value");
+        if (value == null) {
+            throw new IllegalArgumentException(
+                "No value in the operation: " + operation
+            );
+        }
+        return value;
+    }
+}
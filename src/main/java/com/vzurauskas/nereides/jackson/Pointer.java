@@ -0,0 +1,28 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.core.JsonPointer;
+
+/**
+ * {@link JsonPointer} to a node, specified either by a path, which starts
+ * with a forward slash, or by the name of a field directly at the root.
+ */
+final class Pointer {
+
+    private final String path;
+
+    Pointer(String path) {
+        this.path = path;
+    }
+
+    JsonPointer value() {
+        final JsonPointer pointer;
+        if (!path.isEmpty() && path.charAt(0) == '/') {
+            pointer = JsonPointer.compile(path);
+        } else {
+            pointer = JsonPointer.compile(
+                '/' + path.replace("~", "~0").replace("/", "~1")
+            );
+        }
+        return pointer;
+    }
+}
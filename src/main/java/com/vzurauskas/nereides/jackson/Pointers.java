@@ -0,0 +1,36 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled JSON pointers, remembered by their expressions, so that looking
+ * up a node by the same path again neither parses the path nor allocates
+ * anything. At most {@code capacity} paths are remembered: when there are
+ * more, all of them are forgotten, so paths which are built dynamically
+ * cannot make it grow without bounds, while the paths used repeatedly are
+ * soon remembered again. It is safe to share between threads.
+ */
+final class Pointers {
+
+    private final Map<String, JsonPointer> compiled;
+    private final int capacity;
+
+    Pointers(int capacity) {
+        this.compiled = new ConcurrentHashMap<>();
+        this.capacity = capacity;
+    }
+
+    JsonPointer value(String path) {
+        JsonPointer pointer = compiled.get(path);
+        if (pointer == null) {
+            pointer = JsonPointer.compile(path);
+            if (compiled.size() >= capacity) {
+                compiled.clear();
+            }
+            compiled.put(path, pointer);
+        }
+        return pointer;
+    }
+}
@@ -0,0 +1,276 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// @checkstyle ClassDataAbstractionCoupling (20 lines)
+/**
+ * Projection of a {@link Json} onto a fixed set of paths, e.g.
+ * <pre>
+ * {@code
+ * Projection leaves = new SmartJson(json).project("/header/id", "amount");
+ * String id = leaves.leaf(0);
+ * int amount = leaves.leafAsInt(1);
+ * }
+ * </pre>
+ * The values are indexed by the order of the paths, so reading them neither
+ * resolves the paths again nor boxes the values. All the values are
+ * resolved at once, on first access to any of them. If the JSON holds a
+ * parsed tree, the values are taken from it; otherwise they are found in a
+ * single streaming pass over the bytes of the JSON, branches which do not
+ * lead to any of the paths are skipped without being materialized, and
+ * reading stops as soon as all the values are found.
+ */
+public final class Projection {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Json json;
+    private final String[] paths;
+    private final Cached<JsonNode[]> values;
+
+    /**
+     * Constructor.
+     * @param json JSON to project.
+     * @param paths JSON paths to the values or the names of the values if
+     * they are directly at the root of the JSON.
+     */
+    public Projection(Json json, String... paths) {
+        this.json = json;
+        this.paths = paths.clone();
+        this.values = new Cached<>(this::resolved);
+    }
+
+    /**
+     * Number of the paths of this projection.
+     * @return Number of the paths.
+     */
+    public int size() {
+        return paths.length;
+    }
+
+    /**
+     * Method which tells if there is a value at a path.
+     * @param index Index of the path.
+     * @return True if there is a value at the path.
+     */
+    public boolean has(int index) {
+        return !values.value()[index].isMissingNode();
+    }
+
+    /**
+     * Method to get a {@code String} type value.
+     * @param index Index of the path.
+     * @return String value.
+     * @throws IllegalArgumentException if there is no such value.
+     */
+    public String leaf(int index) {
+        final String text = values.value()[index].textValue();
+        if (text == null) {
+            throw missing(index);
+        }
+        return text;
+    }
+
+    /**
+     * Method to get an {@code int} type value.
+     * @param index Index of the path.
+     * @return Int value.
+     * @throws IllegalArgumentException if there is no such value.
+     */
+    public int leafAsInt(int index) {
+        return present(index).intValue();
+    }
+
+    /**
+     * Method to get a {@code long} type value.
+     * @param index Index of the path.
+     * @return Long value.
+     * @throws IllegalArgumentException if there is no such value.
+     */
+    public long leafAsLong(int index) {
+        return present(index).longValue();
+    }
+
+    /**
+     * Method to get a {@code double} type value.
+     * @param index Index of the path.
+     * @return Double value.
+     * @throws IllegalArgumentException if there is no such value.
+     */
+    public double leafAsDouble(int index) {
+        return present(index).doubleValue();
+    }
+
+    /**
+     * Method to get a {@code boolean} type value.
+     * @param index Index of the path.
+     * @return Boolean value.
+     * @throws IllegalArgumentException if there is no such value.
+     */
+    public boolean leafAsBool(int index) {
+        return present(index).booleanValue();
+    }
+
+    /**
+     * Method to get a nested JSON. If there is no value at the path, the
+     * returned JSON is missing.
+     * @param index Index of the path.
+     * @return The nested JSON.
+     */
+    public SmartJson json(int index) {
+        final JsonNode node = values.value()[index];
+        return new SmartJson(new TreeJson(new Cached<>(() -> node)));
+    }
+
+    private JsonNode present(int index) {
+        final JsonNode node = values.value()[index];
+        if (node.isMissingNode()) {
+            throw missing(index);
+        }
+        return node;
+    }
+
+    private IllegalArgumentException missing(int index) {
+        return new IllegalArgumentException(
+            "No such field of specified type: " + paths[index]
+        );
+    }
+
+    private JsonNode[] resolved() {
+        final JsonNode[] nodes = new JsonNode[paths.length];
+        final Tree tree = new Tree(json);
+        if (tree.held()) {
+            final JsonNode node = tree.value();
+            for (int idx = 0; idx < paths.length; ++idx) {
+                nodes[idx] = node.at(new Pointer(paths[idx]).value());
+            }
+        } else {
+            Arrays.fill(nodes, MAPPER.missingNode());
+            streamed(nodes);
+        }
+        return nodes;
+    }
+
+    private void streamed(JsonNode[] nodes) {
+        final Fork root = new Fork();
+        for (int idx = 0; idx < paths.length; ++idx) {
+            root.add(new Pointer(paths[idx]).value(), idx);
+        }
+        new Unchecked<>(
+            () -> {
+                try (JsonParser parser = MAPPER.createParser(json.bytes())) {
+                    if (parser.nextToken() != null) {
+                        new Walk(parser, nodes, root.size()).visit(root);
+                    }
+                    return nodes;
+                }
+            }
+        ).value();
+    }
+
+    /**
+     * Node of the path prefix tree.
+     */
+    private static final class Fork {
+        private final Map<String, Fork> children = new HashMap<>();
+        private final List<Integer> indices = new ArrayList<>(1);
+
+        void add(JsonPointer pointer, int index) {
+            if (pointer.matches()) {
+                indices.add(index);
+            } else {
+                children.computeIfAbsent(
+                    pointer.getMatchingProperty(), name -> new Fork()
+                ).add(pointer.tail(), index);
+            }
+        }
+
+        int size() {
+            int size = 1;
+            if (indices.isEmpty()) {
+                size = 0;
+                for (Fork child : children.values()) {
+                    size += child.size();
+                }
+            }
+            return size;
+        }
+
+        void fill(JsonNode node, JsonNode[] nodes) {
+            for (int index : indices) {
+                nodes[index] = node;
+            }
+            for (Map.Entry<String, Fork> child : children.entrySet()) {
+                child.getValue().fill(
+                    node.at(JsonPointer.empty().appendProperty(child.getKey())),
+                    nodes
+                );
+            }
+        }
+    }
+
+    /**
+     * Single walk through the tokens of the JSON.
+     */
+    private static final class Walk {
+        private final JsonParser parser;
+        private final JsonNode[] nodes;
+        private int remaining;
+
+        Walk(JsonParser parser, JsonNode[] nodes, int remaining) {
+            this.parser = parser;
+            this.nodes = nodes;
+            this.remaining = remaining;
+        }
+
+        void visit(Fork fork) throws IOException {
+            if (!fork.indices.isEmpty()) {
+                --remaining;
+                fork.fill(parser.readValueAsTree(), nodes);
+            } else if (parser.currentToken() == JsonToken.START_OBJECT) {
+                object(fork);
+            } else if (parser.currentToken() == JsonToken.START_ARRAY) {
+                array(fork);
+            }
+        }
+
+        private void object(Fork fork) throws IOException {
+            while (
+                remaining > 0 && parser.nextToken() == JsonToken.FIELD_NAME
+            ) {
+                final Fork child = fork.children.get(parser.getCurrentName());
+                parser.nextToken();
+                if (child == null) {
+                    parser.skipChildren();
+                } else {
+                    visit(child);
+                }
+            }
+        }
+
+        private void array(Fork fork) throws IOException {
+            int index = 0;
+            while (
+                remaining > 0 && parser.nextToken() != JsonToken.END_ARRAY
+            ) {
+                final Fork child = fork.children.get(Integer.toString(index));
+                if (child == null) {
+                    parser.skipChildren();
+                } else {
+                    visit(child);
+                }
+                ++index;
+            }
+        }
+    }
+}
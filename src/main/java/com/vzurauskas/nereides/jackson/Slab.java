@@ -0,0 +1,69 @@
+package com.vzurauskas.nereides.jackson;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * Region of direct memory of an {@link OffHeapArena}, which holds the bytes
+ * of many {@link OffHeapJson}s one after another. It counts the documents
+ * which are still in use, and when there are none left, it is recycled and
+ * filled again from the start. Each recycling starts a new generation, so
+ * documents of previous generations can tell that their bytes are gone.
+ * Apart from {@link #generation()}, it is guarded by its arena.
+ */
+final class Slab {
+
+    private final ByteBuffer buffer;
+    private volatile int generation;
+    private int live;
+
+    Slab(int capacity) {
+        this.buffer = ByteBuffer.allocateDirect(capacity);
+    }
+
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    int generation() {
+        return generation;
+    }
+
+    void retain() {
+        ++live;
+    }
+
+    /**
+     * Let go of a document.
+     * @return True if no documents are left in this slab.
+     */
+    boolean release() {
+        --live;
+        return live == 0;
+    }
+
+    boolean empty() {
+        return live == 0;
+    }
+
+    void recycle() {
+        ++generation;
+        live = 0;
+        ((Buffer) buffer).clear();
+    }
+
+    /**
+     * Independent view of a region of this slab. Positions are set through
+     * {@link Buffer}, like everywhere in this class, so the code runs on
+     * Java 8, where {@code ByteBuffer} does not override them.
+     * @param start Index of the first byte.
+     * @param end Index after the last byte.
+     * @return View of the region.
+     */
+    ByteBuffer region(int start, int end) {
+        final ByteBuffer region = buffer.duplicate();
+        ((Buffer) region).limit(end);
+        ((Buffer) region).position(start);
+        return region;
+    }
+}
@@ -1,12 +1,22 @@
 package com.vzurauskas.nereides.jackson;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
 
+// @checkstyle ClassDataAbstractionCoupling (25 lines)
 /**
  * A smart JSON. It can represent itself in other data types such as,
  * byte arrays, {@link String}s, {@link InputStream}s, and so forth. It can also
@@ -24,33 +34,38 @@ import java.util.Optional;
  * }
  * }
  * </pre>
+ * {@code SmartJson}s are equal if they have the same {@link Structure}, and
+ * the hash of the structure is computed once. A malformed JSON has no
+ * structure, so it is hashed and compared by its bytes instead.
  */
 public final class SmartJson implements Json {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
-    private static final byte[] NULL_BYTES = {
-        (byte) 110, (byte) 117, (byte) 108, (byte) 108
-    };
+    private static final Pointers POINTERS = new Pointers(1024);
 
     private final Json origin;
-    private final Unchecked<ObjectNode> jackson;
+    private final Cached<JsonNode> jackson;
+    private final Cached<Long> hash;
+    private final Leaves leaves;
 
     /**
-     * Constructor.
+     * Constructor. The origin is parsed at most once, on first access to
+     * the structure of this JSON, and the parsed tree is then reused by all
+     * the methods of this {@code SmartJson}.
      * @param origin Original JSON as basis to this {@code SmartJson}.
      */
     public SmartJson(Json origin) {
         this(
             origin,
-            new Unchecked<>(
-                () -> MAPPER.readValue(origin.bytes(), ObjectNode.class)
-            )
+            new Cached<>(() -> new Tree(origin).value())
         );
     }
 
-    private SmartJson(Json origin, Unchecked<ObjectNode> jackson) {
+    private SmartJson(Json origin, Cached<JsonNode> jackson) {
         this.origin = origin;
         this.jackson = jackson;
+        this.hash = new Cached<>(this::structureHash);
+        this.leaves = new Leaves(this::leafNode);
     }
 
     /**
@@ -82,6 +97,28 @@ public final class SmartJson implements Json {
         return new ByteArray(bytes()).value();
     }
 
+    /**
+     * Represent this JSON in an array of bytes of a format supported by
+     * Jackson, such as Smile or CBOR. See {@link BinaryJson} for reading
+     * such bytes back.
+     * @param format Jackson factory of the format, e.g. {@code SmileFactory}.
+     * @return Byte array representing this JSON in the given format.
+     */
+    public byte[] byteArray(JsonFactory format) {
+        return new Output(this).encoded(format);
+    }
+
+    /**
+     * Write this JSON to an {@link OutputStream} the way its origin is
+     * written, so the original bytes are copied even if this JSON is
+     * already parsed. The stream is flushed, but not closed.
+     * @param out Stream to write to.
+     */
+    @Override
+    public void writeTo(OutputStream out) {
+        new Output(origin).writeTo(out);
+    }
+
     /**
      * Method to get a {@code String} type  leaf (primitive field) of this JSON.
      * @param path JSON path to the leaf or the name of the leaf if it is
@@ -89,7 +126,7 @@ public final class SmartJson implements Json {
      * @return Optional value of the leaf.
      */
     public Optional<String> optLeaf(String path) {
-        return nodeAt(path).map(JsonNode::textValue);
+        return leaves.optLeaf(path);
     }
 
     /**
@@ -100,11 +137,7 @@ public final class SmartJson implements Json {
      * @throws IllegalArgumentException if leaf does not exist.
      */
     public String leaf(String path) {
-        return optLeaf(path).orElseThrow(
-            () -> new IllegalArgumentException(
-                "No such field of specified type: " + path
-            )
-        );
+        return leaves.leaf(path);
     }
 
     /**
@@ -114,7 +147,7 @@ public final class SmartJson implements Json {
      * @return Optional value of the leaf.
      */
     public Optional<Integer> optLeafAsInt(String path) {
-        return nodeAt(path).map(JsonNode::intValue);
+        return leaves.optLeafAsInt(path);
     }
 
     /**
@@ -125,11 +158,68 @@ public final class SmartJson implements Json {
      * @throws IllegalArgumentException if leaf does not exist.
      */
     public int leafAsInt(String path) {
-        return optLeafAsInt(path).orElseThrow(
-            () -> new IllegalArgumentException(
-                "No such field of specified type: " + path
-            )
-        );
+        return leaves.leafAsInt(path);
+    }
+
+    /**
+     * Method to get an {@code int} type leaf (primitive field) of this JSON,
+     * or a default value, if there is no such leaf. Nothing is allocated if
+     * the tree of this JSON is already parsed.
+     * @param path JSON path to the leaf or the name of the leaf if it is
+     * directly at the root of this JSON.
+     * @param otherwise Default value.
+     * @return Int value of the leaf or the default value.
+     */
+    public int leafAsInt(String path, int otherwise) {
+        return leaves.leafAsInt(path, otherwise);
+    }
+
+    /**
+     * Method to get an {@code int} type leaf (primitive field) of this JSON
+     * without boxing it. Only the optional itself is allocated, if the tree
+     * of this JSON is already parsed.
+     * @param path JSON path to the leaf or the name of the leaf if it is
+     * directly at the root of this JSON.
+     * @return Optional value of the leaf.
+     */
+    public OptionalInt optIntLeaf(String path) {
+        return leaves.optIntLeaf(path);
+    }
+
+    /**
+     * Method to get a {@code long} type leaf (primitive field) of this JSON.
+     * @param path JSON path to the leaf or the name of the leaf if it is
+     * directly at the root of this JSON.
+     * @return Long value of the leaf.
+     * @throws IllegalArgumentException if leaf does not exist.
+     */
+    public long leafAsLong(String path) {
+        return leaves.leafAsLong(path);
+    }
+
+    /**
+     * Method to get a {@code long} type leaf (primitive field) of this JSON,
+     * or a default value, if there is no such leaf. Nothing is allocated if
+     * the tree of this JSON is already parsed.
+     * @param path JSON path to the leaf or the name of the leaf if it is
+     * directly at the root of this JSON.
+     * @param otherwise Default value.
+     * @return Long value of the leaf or the default value.
+     */
+    public long leafAsLong(String path, long otherwise) {
+        return leaves.leafAsLong(path, otherwise);
+    }
+
+    /**
+     * Method to get a {@code long} type leaf (primitive field) of this JSON
+     * without boxing it. Only the optional itself is allocated, if the tree
+     * of this JSON is already parsed.
+     * @param path JSON path to the leaf or the name of the leaf if it is
+     * directly at the root of this JSON.
+     * @return Optional value of the leaf.
+     */
+    public OptionalLong optLongLeaf(String path) {
+        return leaves.optLongLeaf(path);
     }
 
     /**
@@ -139,7 +229,7 @@ public final class SmartJson implements Json {
      * @return Optional value of the leaf.
      */
     public Optional<Double> optLeafAsDouble(String path) {
-        return nodeAt(path).map(JsonNode::doubleValue);
+        return leaves.optLeafAsDouble(path);
     }
 
     /**
@@ -150,11 +240,32 @@ public final class SmartJson implements Json {
      * @throws IllegalArgumentException if leaf does not exist.
      */
     public double leafAsDouble(String path) {
-        return optLeafAsDouble(path).orElseThrow(
-            () -> new IllegalArgumentException(
-                "No such field of specified type: " + path
-            )
-        );
+        return leaves.leafAsDouble(path);
+    }
+
+    /**
+     * Method to get a {@code double} type leaf (primitive field) of this JSON,
+     * or a default value, if there is no such leaf. Nothing is allocated if
+     * the tree of this JSON is already parsed.
+     * @param path JSON path to the leaf or the name of the leaf if it is
+     * directly at the root of this JSON.
+     * @param otherwise Default value.
+     * @return Double value of the leaf or the default value.
+     */
+    public double leafAsDouble(String path, double otherwise) {
+        return leaves.leafAsDouble(path, otherwise);
+    }
+
+    /**
+     * Method to get a {@code double} type leaf (primitive field) of this JSON
+     * without boxing it. Only the optional itself is allocated, if the tree
+     * of this JSON is already parsed.
+     * @param path JSON path to the leaf or the name of the leaf if it is
+     * directly at the root of this JSON.
+     * @return Optional value of the leaf.
+     */
+    public OptionalDouble optDoubleLeaf(String path) {
+        return leaves.optDoubleLeaf(path);
     }
 
     /**
@@ -165,7 +276,7 @@ public final class SmartJson implements Json {
      * @return Optional value of the leaf.
      */
     public Optional<Boolean> optLeafAsBool(String path) {
-        return nodeAt(path).map(JsonNode::booleanValue);
+        return leaves.optLeafAsBool(path);
     }
 
     /**
@@ -177,29 +288,43 @@ public final class SmartJson implements Json {
      * @throws IllegalArgumentException if field does not exist.
      */
     public boolean leafAsBool(String path) {
-        return optLeafAsBool(path).orElseThrow(
-            () -> new IllegalArgumentException(
-                "No such field of specified type: " + path
-            )
-        );
+        return leaves.leafAsBool(path);
+    }
+
+    /**
+     * Method to get a {@code boolean} type leaf (primitive field) of this
+     * JSON, or a default value, if there is no such leaf. Nothing is allocated
+     * if the tree of this JSON is already parsed.
+     * @param path JSON path to the leaf or the name of the leaf if it is
+     * directly at the root of this JSON.
+     * @param otherwise Default value.
+     * @return Boolean value of the leaf or the default value.
+     */
+    public boolean leafAsBool(String path, boolean otherwise) {
+        return leaves.leafAsBool(path, otherwise);
     }
 
-    private Optional<JsonNode> nodeAt(String path) {
-        JsonNode node = !path.isEmpty() && path.charAt(0) == '/'
-            ? jackson.value().at(path)
+    private JsonNode leafNode(String path) {
+        return !path.isEmpty() && path.charAt(0) == '/'
+            ? jackson.value().at(POINTERS.value(path))
             : jackson.value().path(path);
-        return node.isMissingNode()
-            ? Optional.empty()
-            : Optional.of(node);
     }
 
     /**
      * Represent this JSON as {@link ObjectNode} in case full JSON manipulation
-     * capabilities offered by jackson-databind library are needed.
-     * @return This JSON as {@link ObjectNode}.
+     * capabilities offered by jackson-databind library are needed. The node
+     * is a copy, so changing it does not change this JSON.
+     * @return Copy of this JSON as {@link ObjectNode}.
+     * @throws IllegalStateException if this JSON is not an object.
      */
     public ObjectNode objectNode() {
-        return jackson.value();
+        final JsonNode node = jackson.value();
+        if (!node.isObject()) {
+            throw new IllegalStateException(
+                "This JSON is not an object: " + node.getNodeType()
+            );
+        }
+        return (ObjectNode) node.deepCopy();
     }
 
     /**
@@ -213,22 +338,116 @@ public final class SmartJson implements Json {
      * This method never returns null. If there is no JSON as specified by the
      * path, a missing JSON is returned, i.e.
      * {@code returned.isMissing() == true}.
+     * The nested JSON shares the parsed tree of this JSON, so navigating
+     * it does not parse anything again. It is serialized to bytes only if
+     * its bytes are requested.
      * @param path Path to the nested JSON.
      * @return The nested JSON, which could be missing.
      */
     public SmartJson at(String path) {
-        return new SmartJson(
-            new Of(jackson.value().at(path))
+        final Cached<JsonNode> nested = new Cached<>(
+            () -> jackson.value().at(path)
         );
+        return new SmartJson(new TreeJson(nested), nested);
     }
 
     /**
-     * Method which tells if this JSON is missing.
-      * @return true if this JSON is missing; otherwise false.
+     * Method to project this JSON onto the specified paths, e.g.
+     * {@code json.project("/header/id", "amount").leafAsInt(1)}. The values
+     * at all the paths are resolved at once and indexed by the order of the
+     * paths. If the tree of this JSON is not parsed yet, they are found in a
+     * single streaming pass over the bytes of this JSON, so it is much
+     * cheaper than parsing the whole JSON when a fixed set of leaves is
+     * needed. See {@link Projection}.
+     * @param paths JSON paths to the values or the names of the values if
+     * they are directly at the root of this JSON.
+     * @return The projection of this JSON.
+     */
+    public Projection project(String... paths) {
+        return new Projection(jackson.computed() ? this : origin, paths);
+    }
+
+    /**
+     * Method to get the elements of an array nested within this JSON as a
+     * lazy stream. If the tree of this JSON is not parsed yet, the elements
+     * are read one at a time by a streaming parser positioned at the array,
+     * so only the current element is held in memory. The stream should be
+     * closed if it is not consumed to the end. If there is no array at the
+     * path, the stream is empty.
+     * @param path JSON path to the array or the name of the array if it is
+     * directly at the root of this JSON.
+     * @return Stream of the elements.
+     */
+    public Stream<SmartJson> elements(String path) {
+        return new Children(origin, jackson, new Pointer(path).value())
+            .elements();
+    }
+
+    /**
+     * Method to get the elements of this JSON, if it is an array, as a lazy
+     * stream. See {@link #elements(String)}.
+     * @return Stream of the elements.
+     */
+    public Stream<SmartJson> elements() {
+        return new Children(origin, jackson, JsonPointer.empty()).elements();
+    }
+
+    /**
+     * Method to get the fields of an object nested within this JSON as a
+     * lazy stream of names and values. It works the same way as
+     * {@link #elements(String)}. If there is no object at the path, the stream
+     * is empty.
+     * @param path JSON path to the object or the name of the object if it is
+     * directly at the root of this JSON.
+     * @return Stream of the fields.
+     */
+    public Stream<Map.Entry<String, SmartJson>> fields(String path) {
+        return new Children(origin, jackson, new Pointer(path).value())
+            .fields();
+    }
+
+    /**
+     * Method to get the fields of this JSON, if it is an object, as a lazy
+     * stream. See {@link #fields(String)}.
+     * @return Stream of the fields.
+     */
+    public Stream<Map.Entry<String, SmartJson>> fields() {
+        return new Children(origin, jackson, JsonPointer.empty()).fields();
+    }
+
+    /**
+     * Method which tells if this JSON is missing, i.e. it is empty or
+     * {@code null}. If the tree of this JSON is at hand, the answer is taken
+     * from it, otherwise only the first token of this JSON is read, so the
+     * cost does not depend on the size of this JSON.
+     * @return true if this JSON is missing; otherwise false.
      */
     public boolean isMissing() {
-        final byte[] bytes = byteArray();
-        return bytes.length == 0 || Arrays.equals(bytes, NULL_BYTES);
+        final boolean missing;
+        if (parsed()) {
+            final JsonNode node = jackson.value();
+            missing = node.isMissingNode() || node.isNull();
+        } else {
+            missing = !new Lookup(origin, JsonPointer.empty()).exists();
+        }
+        return missing;
+    }
+
+    /**
+     * The tree of this JSON, which is shared, so it must not be modified.
+     * @return The tree.
+     */
+    JsonNode node() {
+        return jackson.value();
+    }
+
+    /**
+     * Tell if the tree of this JSON is at hand without parsing, i.e. it is
+     * parsed already or its origin holds it.
+     * @return True if the tree is at hand.
+     */
+    boolean parsed() {
+        return jackson.computed() || new Tree(origin).held();
     }
 
     @Override
@@ -236,8 +455,42 @@ public final class SmartJson implements Json {
         return origin.bytes();
     }
 
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof SmartJson
+            && hashCode() == other.hashCode()
+            && same((SmartJson) other);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash.value());
+    }
+
     @Override
     public String toString() {
         return new String(new ByteArray(this).value());
     }
+
+    private long structureHash() {
+        long value;
+        try {
+            value = new Structure(this).hash();
+        } catch (UncheckedIOException ex) {
+            value = Arrays.hashCode(new ByteArray(origin).value());
+        }
+        return value;
+    }
+
+    private boolean same(SmartJson other) {
+        boolean same;
+        try {
+            same = new Structure(this).matches(other);
+        } catch (UncheckedIOException ex) {
+            same = Arrays.equals(
+                new ByteArray(origin).value(), new ByteArray(other).value()
+            );
+        }
+        return same;
+    }
 }
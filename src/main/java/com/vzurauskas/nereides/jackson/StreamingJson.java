@@ -0,0 +1,179 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * A JSON which finds its leaves and nested JSONs by streaming through its
+ * bytes, without building a tree. Branches which do not lead to the
+ * requested path are skipped and reading stops as soon as the path is
+ * found, so a single read costs about as much as the bytes before the
+ * requested field. This makes it suitable for one-shot reads from large
+ * documents, e.g.
+ * <pre>
+ * {@code
+ * String tenant = new StreamingJson(body).leaf("/header/tenantId");
+ * }
+ * </pre>
+ * Every read streams through the bytes again, so if many leaves of the same
+ * JSON are needed, {@link SmartJson} which parses the JSON once is a better
+ * fit.
+ */
+public final class StreamingJson implements Json {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Json origin;
+    private final JsonPointer base;
+    private final Leaves leaves;
+
+    /**
+     * Constructor.
+     * @param origin Original JSON as basis to this {@code StreamingJson}.
+     */
+    public StreamingJson(Json origin) {
+        this(origin, JsonPointer.empty());
+    }
+
+    private StreamingJson(Json origin, JsonPointer base) {
+        this.origin = origin;
+        this.base = base;
+        this.leaves = new Leaves(this::nodeAt);
+    }
+
+    /**
+     * Method to get a {@code String} type  leaf (primitive field) of this JSON.
+     * @param path JSON path to the leaf or the name of the leaf if it is
+     * directly at the root of this JSON.
+     * @return Optional value of the leaf.
+     */
+    public Optional<String> optLeaf(String path) {
+        return leaves.optLeaf(path);
+    }
+
+    /**
+     * Method to get a {@code String} type leaf (primitive field) of this JSON.
+     * @param path JSON path to the leaf or the name of the leaf if it is
+     * directly at the root of this JSON.
+     * @return String value of the field, if the leaf exists.
+     * @throws IllegalArgumentException if leaf does not exist.
+     */
+    public String leaf(String path) {
+        return leaves.leaf(path);
+    }
+
+    /**
+     * Method to get an {@code int} type  leaf (primitive field) of this JSON.
+     * @param path JSON path to the leaf or the name of the leaf if it is
+     * directly at the root of this JSON.
+     * @return Optional value of the leaf.
+     */
+    public Optional<Integer> optLeafAsInt(String path) {
+        return leaves.optLeafAsInt(path);
+    }
+
+    /**
+     * Method to get an {@code int} type  leaf (primitive field) of this JSON.
+     * @param path JSON path to the leaf or the name of the leaf if it is
+     * directly at the root of this JSON.
+     * @return Int value of the leaf.
+     * @throws IllegalArgumentException if leaf does not exist.
+     */
+    public int leafAsInt(String path) {
+        return leaves.leafAsInt(path);
+    }
+
+    /**
+     * Method to get a {@code double} type  leaf (primitive field) of this JSON.
+     * @param path JSON path to the leaf or the name of the leaf if it is
+     * directly at the root of this JSON.
+     * @return Optional value of the leaf.
+     */
+    public Optional<Double> optLeafAsDouble(String path) {
+        return leaves.optLeafAsDouble(path);
+    }
+
+    /**
+     * Method to get an {@code double} type leaf (primitive field) of this JSON.
+     * @param path JSON path to the leaf or the name of the leaf if it is
+     * directly at the root of this JSON.
+     * @return Double value of the leaf.
+     * @throws IllegalArgumentException if leaf does not exist.
+     */
+    public double leafAsDouble(String path) {
+        return leaves.leafAsDouble(path);
+    }
+
+    /**
+     * Method to get a {@code boolean} type  leaf (primitive field) of this
+     * JSON.
+     * @param path JSON path to the leaf or the name of the leaf if it is
+     * directly at the root of this JSON.
+     * @return Optional value of the leaf.
+     */
+    public Optional<Boolean> optLeafAsBool(String path) {
+        return leaves.optLeafAsBool(path);
+    }
+
+    /**
+     * Method to get a {@code boolean} type leaf (primitive field) of this
+     * JSON.
+     * @param path JSON path to the leaf or the name of the leaf if it is
+     * directly at the root of this JSON.
+     * @return Boolean value of the leaf.
+     * @throws IllegalArgumentException if field does not exist.
+     */
+    public boolean leafAsBool(String path) {
+        return leaves.leafAsBool(path);
+    }
+
+    private JsonNode nodeAt(String path) {
+        return new Lookup(
+            origin, base.append(new Pointer(path).value())
+        ).node().orElseGet(MAPPER::missingNode);
+    }
+
+    /**
+     * Method to get a JSON nested within this JSON, specified by path. Path
+     * starts with a forward slash, and path elements are separated by forward
+     * slashes also, e.g.
+     * <pre>
+     * {@code
+     * StreamingJson nested = json.at("/path/to/nested/json");}
+     * </pre>
+     * Nothing is read until the nested JSON is asked for its leaves or its
+     * bytes. Reads of nested JSONs stream through the bytes of the original
+     * JSON directly, so no intermediate copies are made. If there is no JSON
+     * as specified by the path, the nested JSON is missing, i.e. its bytes
+     * are empty.
+     * @param path Path to the nested JSON.
+     * @return The nested JSON, which could be missing.
+     */
+    public StreamingJson at(String path) {
+        return new StreamingJson(
+            origin, base.append(JsonPointer.compile(path))
+        );
+    }
+
+    @Override
+    public InputStream bytes() {
+        final InputStream bytes;
+        if (base.matches()) {
+            bytes = origin.bytes();
+        } else {
+            bytes = new ByteArrayInputStream(
+                new Lookup(origin, base).bytes()
+            );
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return new String(new ByteArray(this).value());
+    }
+}
@@ -0,0 +1,221 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Structure of a {@link Json}: its fields, elements and values, regardless
+ * of the order of the fields, whitespace and the notation of numbers, e.g.
+ * <pre>
+ * {@code
+ * Json first = new Json.Of("{\"a\": 1, \"b\": [2.50]}");
+ * Json second = new Json.Of("{\"b\":[2.5],\"a\":1.0}");
+ * boolean same = new Structure(first).matches(second); // true
+ * }
+ * </pre>
+ * Numbers are compared by their decimal values, so {@code 1}, {@code 1.0}
+ * and {@code 1e0} are the same. Numbers which are parsed as {@code double}s
+ * are taken by the value of the {@code double}, and the infinities, which
+ * have no decimal value, are only the same as themselves. The hash of the
+ * structure is computed in a single streaming pass over the tokens of the
+ * JSON, without building its tree; if the JSON already holds a tree, the
+ * tokens are read from the tree. The hashes of the fields of an object are
+ * combined regardless of their order, and JSONs of the same structure
+ * always have the same hash.
+ */
+public final class Structure {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long PRIME = 1_099_511_628_211L;
+    private static final long OBJECT = 0x9e3779b97f4a7c15L;
+    private static final long ARRAY = 0xc2b2ae3d27d4eb4fL;
+    private static final long NUMBER = 0x165667b19e3779f9L;
+    private static final long STRING = 0x27d4eb2f165667c5L;
+
+    private final Json json;
+
+    /**
+     * Constructor.
+     * @param json JSON whose structure this is.
+     */
+    public Structure(Json json) {
+        this.json = json;
+    }
+
+    /**
+     * 64-bit hash of this structure.
+     * @return The hash.
+     */
+    public long hash() {
+        return new Unchecked<>(
+            () -> {
+                try (JsonParser parser = parser()) {
+                    parser.nextToken();
+                    return hash(parser);
+                }
+            }
+        ).value();
+    }
+
+    /**
+     * Tell if another JSON has this structure.
+     * @param other Other JSON.
+     * @return True if the other JSON has this structure.
+     */
+    public boolean matches(Json other) {
+        return node(json).equals(Structure::compare, node(other));
+    }
+
+    private JsonParser parser() throws IOException {
+        final JsonParser parser;
+        if (json instanceof MutableJson || new Tree(json).held()) {
+            parser = node(json).traverse();
+        } else {
+            parser = MAPPER.createParser(json.bytes());
+        }
+        return parser;
+    }
+
+    private static JsonNode node(Json json) {
+        final JsonNode node;
+        if (json instanceof MutableJson) {
+            node = ((MutableJson) json).node();
+        } else {
+            node = new Tree(json).value();
+        }
+        return node;
+    }
+
+    /**
+     * Compare two nodes, numbers by their values and other nodes as they
+     * are, for {@link JsonNode#equals(java.util.Comparator, JsonNode)}.
+     * @param first First node.
+     * @param second Second node.
+     * @return Zero if the nodes are equal, non-zero otherwise.
+     */
+    static int compare(JsonNode first, JsonNode second) {
+        final int result;
+        if (first.isNumber() && second.isNumber()) {
+            result = numbers(first, second);
+        } else if (first.equals(second)) {
+            result = 0;
+        } else {
+            result = 1;
+        }
+        return result;
+    }
+
+    private static int numbers(JsonNode first, JsonNode second) {
+        final int result;
+        if (finite(first) && finite(second)) {
+            result = first.decimalValue().compareTo(second.decimalValue());
+        } else if (finite(first) || finite(second)) {
+            result = 1;
+        } else {
+            result = Double.compare(first.doubleValue(), second.doubleValue());
+        }
+        return result;
+    }
+
+    private static boolean finite(JsonNode number) {
+        return !number.isFloatingPointNumber() || number.isBigDecimal()
+            || Double.isFinite(number.doubleValue());
+    }
+
+    private static long hash(JsonParser parser) throws IOException {
+        final JsonToken token = parser.currentToken();
+        final long hash;
+        if (token == null || token == JsonToken.NOT_AVAILABLE) {
+            hash = 0;
+        } else if (token == JsonToken.START_OBJECT) {
+            long fields = OBJECT;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final long name = parser.getCurrentName().hashCode();
+                parser.nextToken();
+                fields += mix(name * PRIME + hash(parser));
+            }
+            hash = mix(fields);
+        } else if (token == JsonToken.START_ARRAY) {
+            long elements = ARRAY;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                elements = elements * PRIME + hash(parser);
+            }
+            hash = mix(elements);
+        } else if (token == JsonToken.VALUE_NUMBER_INT && fitsLong(parser)) {
+            hash = mix(NUMBER + parser.getLongValue());
+        } else if (token.isNumeric()) {
+            hash = number(parser);
+        } else {
+            hash = mix(
+                STRING * token.ordinal() + parser.getText().hashCode()
+            );
+        }
+        return hash;
+    }
+
+    private static boolean fitsLong(JsonParser parser) throws IOException {
+        return parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER;
+    }
+
+    /**
+     * Hash of a number, which depends only on the decimal value the number
+     * is compared by, so that numbers which are the same have the same hash
+     * however they are written or stored.
+     * @param parser Parser at the number.
+     * @return The hash.
+     * @throws IOException If the number can not be read.
+     */
+    private static long number(JsonParser parser) throws IOException {
+        final JsonParser.NumberType type = parser.getNumberType();
+        final long hash;
+        if (type == JsonParser.NumberType.BIG_INTEGER) {
+            hash = decimal(new BigDecimal(parser.getBigIntegerValue()));
+        } else if (type == JsonParser.NumberType.BIG_DECIMAL) {
+            hash = decimal(parser.getDecimalValue());
+        } else if (Double.isFinite(parser.getDoubleValue())) {
+            hash = decimal(BigDecimal.valueOf(parser.getDoubleValue()));
+        } else {
+            final long bits = Double.doubleToLongBits(parser.getDoubleValue());
+            hash = mix(NUMBER + bits * PRIME);
+        }
+        return hash;
+    }
+
+    /**
+     * Hash of a decimal number, which is the same as the hash of a
+     * {@code long}, if the number is a whole number in the range of
+     * {@code long}s, because such numbers can be written both ways.
+     * @param number The number.
+     * @return The hash.
+     */
+    private static long decimal(BigDecimal number) {
+        final BigDecimal stripped = number.stripTrailingZeros();
+        final long hash;
+        if (whole(stripped)) {
+            hash = mix(NUMBER + stripped.longValue());
+        } else {
+            hash = mix(NUMBER + stripped.hashCode() * PRIME);
+        }
+        return hash;
+    }
+
+    private static boolean whole(BigDecimal stripped) {
+        return stripped.scale() <= 0
+            && stripped.precision() - stripped.scale() <= 19
+            && stripped.toBigInteger().bitLength() < 64;
+    }
+
+    private static long mix(long value) {
+        long mixed = value;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xff51afd7ed558ccdL;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xc4ceb9fe1a85ec53L;
+        mixed ^= mixed >>> 33;
+        return mixed;
+    }
+}
@@ -0,0 +1,114 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * {@link Column} of {@code String}s, dictionary-encoded: each distinct string
+ * is stored once and rows hold codes of strings. The index of the codes is
+ * needed only while values are appended, so it is dropped on {@link #trim()},
+ * and only the dictionary is kept. As long as it holds only {@code null}s,
+ * it can turn into a column of any type, so new columns start as empty text
+ * columns.
+ */
+final class TextColumn implements Column {
+
+    private final ArrayList<String> dictionary;
+    private Map<String, Integer> codes;
+    private int[] rows;
+    private int size;
+
+    TextColumn() {
+        this.dictionary = new ArrayList<>();
+        this.codes = new HashMap<>();
+        this.rows = new int[1];
+    }
+
+    @Override
+    public Column accepting(JsonNode value) {
+        final Column column;
+        if (value.isNull() || value.isTextual()) {
+            column = this;
+        } else if (!dictionary.isEmpty()) {
+            column = null;
+        } else if (value.isBoolean()) {
+            column = new BoolColumn(size);
+        } else if (value.isInt()) {
+            column = new IntColumn(size);
+        } else if (value.isIntegralNumber() && value.canConvertToLong()) {
+            column = new LongColumn(size);
+        } else if (value.isNumber()) {
+            column = new DoubleColumn(size);
+        } else {
+            column = null;
+        }
+        return column;
+    }
+
+    @Override
+    public void add(JsonNode value) {
+        if (size == rows.length) {
+            rows = Arrays.copyOf(rows, size * 2);
+        }
+        final String text = value.textValue();
+        if (text == null) {
+            rows[size] = -1;
+        } else {
+            rows[size] = codes.computeIfAbsent(
+                text,
+                key -> {
+                    dictionary.add(key);
+                    return dictionary.size() - 1;
+                }
+            );
+        }
+        ++size;
+    }
+
+    @Override
+    public void trim() {
+        rows = Arrays.copyOf(rows, size);
+        dictionary.trimToSize();
+        codes = null;
+    }
+
+    @Override
+    public JsonNode node(int row) {
+        return TextNode.valueOf(dictionary.get(rows[row]));
+    }
+
+    @Override
+    public IntStream ints() {
+        throw new IllegalStateException("Column of strings is not numeric");
+    }
+
+    @Override
+    public LongStream longs() {
+        throw new IllegalStateException("Column of strings is not numeric");
+    }
+
+    @Override
+    public DoubleStream doubles() {
+        throw new IllegalStateException("Column of strings is not numeric");
+    }
+
+    @Override
+    public Stream<String> texts() {
+        return Arrays.stream(rows, 0, size).mapToObj(
+            code -> code < 0 ? null : dictionary.get(code)
+        );
+    }
+
+    @Override
+    public Stream<Boolean> bools() {
+        throw new IllegalStateException("Column of strings is not of booleans");
+    }
+}
@@ -0,0 +1,101 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Optional;
+
+/**
+ * Jackson tree of a {@link Json}. Known implementations of {@code Json}
+ * which already hold a tree hand it over directly, so no serialization and
+ * parsing is involved; the bytes of other {@code Json}s are parsed. The
+ * trees of {@link SmartJson}, {@link CachedJson}, {@link BinaryJson},
+ * {@link JsonPatch} and {@link Json.Of} made of a {@link JsonNode} are
+ * shared, while the tree of
+ * {@link MutableJson} is always copied, because it can still change.
+ */
+final class Tree {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Json json;
+
+    Tree(Json json) {
+        this.json = json;
+    }
+
+    /**
+     * The tree, which may be shared with the {@code Json}, so it must not be
+     * modified.
+     * @return The tree.
+     */
+    JsonNode value() {
+        return shared().orElseGet(this::owned);
+    }
+
+    /**
+     * The tree, which belongs to the caller, so it may be modified.
+     * @return The tree.
+     */
+    JsonNode copy() {
+        return shared().<JsonNode>map(JsonNode::deepCopy)
+            .orElseGet(this::owned);
+    }
+
+    /**
+     * Tell if the tree of the {@code Json} is at hand, so taking it costs no
+     * parsing of the bytes of the {@code Json}: either it is parsed already,
+     * or the bytes are made from the tree anyway. Telling it never makes the
+     * tree.
+     * @return True if the tree is at hand.
+     */
+    boolean held() {
+        final boolean held;
+        if (json instanceof SmartJson) {
+            held = ((SmartJson) json).parsed();
+        } else if (json instanceof CachedJson) {
+            held = ((CachedJson) json).parsed();
+        } else if (json instanceof Json.Of) {
+            held = new Tree(((Json.Of) json).origin()).held();
+        } else {
+            held = json instanceof TreeJson || json instanceof BinaryJson
+                || json instanceof JsonPatch || json instanceof MissingJson;
+        }
+        return held;
+    }
+
+    private Optional<JsonNode> shared() {
+        final Optional<JsonNode> node;
+        if (json instanceof SmartJson) {
+            node = Optional.of(((SmartJson) json).node());
+        } else if (json instanceof CachedJson) {
+            node = Optional.of(((CachedJson) json).tree());
+        } else if (json instanceof TreeJson) {
+            node = Optional.of(((TreeJson) json).node());
+        } else if (json instanceof BinaryJson) {
+            node = Optional.of(((BinaryJson) json).node());
+        } else if (json instanceof JsonPatch) {
+            node = Optional.of(((JsonPatch) json).node());
+        } else if (json instanceof Json.Of) {
+            node = new Tree(((Json.Of) json).origin()).shared();
+        } else if (json instanceof MissingJson) {
+            node = Optional.of(MAPPER.missingNode());
+        } else {
+            node = Optional.empty();
+        }
+        return node;
+    }
+
+    private JsonNode owned() {
+        final JsonNode node;
+        if (json instanceof MutableJson) {
+            node = ((MutableJson) json).node().deepCopy();
+        } else if (json instanceof EmptyJson) {
+            node = MAPPER.createObjectNode();
+        } else {
+            node = new Unchecked<>(
+                () -> MAPPER.readTree(json.bytes())
+            ).value();
+        }
+        return node;
+    }
+}
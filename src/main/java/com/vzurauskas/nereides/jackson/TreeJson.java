@@ -0,0 +1,49 @@
+package com.vzurauskas.nereides.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * {@link Json} backed by an already parsed jackson tree. The tree is
+ * serialized lazily, only when the bytes are requested for the first time,
+ * and the serialized form is then reused. A missing tree has no bytes.
+ */
+final class TreeJson implements Json {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Cached<JsonNode> node;
+    private final Cached<byte[]> serialized;
+
+    TreeJson(JsonNode node) {
+        this(new Cached<>(() -> node));
+    }
+
+    TreeJson(Cached<JsonNode> node) {
+        this.node = node;
+        this.serialized = new Cached<>(
+            () -> new Unchecked<>(
+                () -> {
+                    final byte[] bytes;
+                    if (node.value().isMissingNode()) {
+                        bytes = new byte[0];
+                    } else {
+                        bytes = MAPPER.writeValueAsBytes(node.value());
+                    }
+                    return bytes;
+                }
+            ).value()
+        );
+    }
+
+    JsonNode node() {
+        return node.value();
+    }
+
+    @Override
+    public InputStream bytes() {
+        return new ByteArrayInputStream(serialized.value());
+    }
+}
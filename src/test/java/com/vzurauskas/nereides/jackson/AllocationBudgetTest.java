@@ -0,0 +1,148 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Budgets of bytes allocated per call. They are about twice of what the
+ * operations allocate at the moment, so they fail on regressions rather than
+ * on noise. Operations which allocate next to nothing are measured against
+ * what the same JVM allocates for a baseline operation, with a margin, since
+ * sizes of objects and what the JIT compiler eliminates differ between
+ * JVMs and their options. Their exact allocations are reported by the
+ * benchmarks of {@code SmartJson}, run with the GC profiler.
+ */
+final class AllocationBudgetTest {
+
+    private static final String TEXT =
+        "{\"name\":\"Thetis\",\"age\":10,\"fair\":true,"
+            + "\"home\":{\"rock\":\"Rock 1\",\"depth\":1500.5},"
+            + "\"sisters\":[\"Amphitrite\",\"Galatea\",\"Psamathe\"]}";
+    private static final byte[] BYTES = TEXT.getBytes(StandardCharsets.UTF_8);
+    private static final long MARGIN = 64;
+
+    @Test
+    void leafOfParsedJson() {
+        SmartJson json = parsed();
+        assertWithin(128, () -> json.leaf("name"));
+        assertWithin(128, () -> json.leafAsInt("age"));
+        assertWithin(64, () -> json.optLeaf("nothing"));
+        assertWithin(512, () -> json.leaf("/home/rock"));
+    }
+
+    @Test
+    void primitiveLeafOfParsedJson() {
+        SmartJson json = parsed();
+        long nothing = new Allocations(() -> Boolean.TRUE).perCall();
+        assertAbove(nothing, () -> json.leafAsInt("/home/depth", 0) == 1500);
+        assertAbove(nothing, () -> json.leafAsInt("nothing", 0) == 0);
+        assertAbove(nothing, () -> json.leafAsLong("age", 0L) == 10L);
+        assertAbove(nothing, () -> json.leafAsDouble("/home/depth", 0.0) > 0);
+        assertAbove(
+            nothing, () -> json.leafAsDouble("/nothing/at/all", 0.0) == 0
+        );
+        assertAbove(nothing, () -> json.leafAsBool("fair", false));
+        assertAbove(nothing, () -> json.leafAsInt("/home/depth") == 1500);
+        assertAbove(nothing, () -> json.leafAsLong("/home/depth") == 1500L);
+        assertAbove(nothing, () -> json.optDoubleLeaf("nothing").isPresent());
+    }
+
+    @Test
+    void primitiveOptionalLeafOfParsedJson() {
+        SmartJson json = parsed();
+        long optional = new Allocations(
+            () -> OptionalLong.of(System.nanoTime())
+        ).perCall();
+        assertAbove(optional, () -> json.optIntLeaf("/home/depth"));
+        assertAbove(optional, () -> json.optLongLeaf("age"));
+    }
+
+    @Test
+    void nestedJsonOfParsedJson() {
+        SmartJson json = parsed();
+        assertWithin(640, () -> json.at("/home").leaf("rock"));
+    }
+
+    @Test
+    void isMissing() {
+        SmartJson json = parsed();
+        assertWithin(64, json::isMissing);
+        assertWithin(
+            2048, () -> new SmartJson(new Json.Of(BYTES)).isMissing()
+        );
+    }
+
+    @Test
+    void representations() {
+        SmartJson json = parsed();
+        assertWithin(1536, json::textual);
+        assertWithin(512, json::byteArray);
+    }
+
+    @Test
+    void parsing() {
+        assertWithin(
+            4096, () -> new SmartJson(new Json.Of(BYTES)).leaf("name")
+        );
+    }
+
+    @Test
+    void mutableJsonWith() {
+        MutableJson json = new MutableJson(new Json.Of(BYTES));
+        assertWithin(64, () -> json.with("name", "Galatea"));
+    }
+
+    @Test
+    void mutableJsonBytes() {
+        MutableJson json = new MutableJson(new Json.Of(BYTES));
+        json.bytes();
+        assertWithin(128, json::bytes);
+        assertWithin(
+            2048, () -> new ByteArray(json.with("age", 11)).value()
+        );
+    }
+
+    @Test
+    void jsonOfConstructors() {
+        assertWithin(64, () -> new Json.Of(BYTES));
+        assertWithin(512, () -> new Json.Of(TEXT));
+        assertWithin(1024, () -> new ByteArray(new Json.Of(TEXT)).value());
+        ObjectNode node = parsed().objectNode();
+        assertWithin(2048, () -> new Json.Of(node));
+    }
+
+    @Test
+    void byteArrayAllocatesOnlyResult() {
+        byte[] kilobyte = new byte[1024];
+        assertWithin(
+            1024 + 256,
+            () -> new ByteArray(new ByteArrayInputStream(kilobyte)).value()
+        );
+    }
+
+    private static SmartJson parsed() {
+        SmartJson json = new SmartJson(new Json.Of(BYTES));
+        json.isMissing();
+        json.leaf("name");
+        return json;
+    }
+
+    private static void assertAbove(long baseline, Supplier<?> operation) {
+        assertWithin(baseline + MARGIN, operation);
+    }
+
+    private static void assertWithin(long budget, Supplier<?> operation) {
+        long allocated = new Allocations(operation).perCall();
+        assertTrue(
+            allocated <= budget,
+            () -> String.format(
+                "Allocated %d bytes per call, budget is %d", allocated, budget
+            )
+        );
+    }
+}
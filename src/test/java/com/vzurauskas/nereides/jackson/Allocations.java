@@ -0,0 +1,50 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * Bytes allocated by the current thread per call of an operation. The
+ * operation is warmed up first, so that the JIT compiler has a chance to
+ * optimize it, and the result of each call is kept so that it cannot be
+ * eliminated. Tests using it are skipped on JVMs which cannot measure
+ * allocations per thread.
+ */
+final class Allocations {
+
+    private static final int WARMUP = 20_000;
+    private static final int MEASURED = 5_000;
+
+    private final Supplier<?> operation;
+    private volatile Object sink;
+
+    Allocations(Supplier<?> operation) {
+        this.operation = operation;
+    }
+
+    long perCall() {
+        final java.lang.management.ThreadMXBean bean =
+            ManagementFactory.getThreadMXBean();
+        assumeTrue(
+            bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean)
+                    .isThreadAllocatedMemorySupported(),
+            "Allocated memory per thread is not supported by this JVM"
+        );
+        final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) bean;
+        threads.setThreadAllocatedMemoryEnabled(true);
+        repeat(WARMUP);
+        final long id = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(id);
+        repeat(MEASURED);
+        return (threads.getThreadAllocatedBytes(id) - before) / MEASURED;
+    }
+
+    private void repeat(int times) {
+        for (int idx = 0; idx < times; ++idx) {
+            sink = operation.get();
+        }
+    }
+}
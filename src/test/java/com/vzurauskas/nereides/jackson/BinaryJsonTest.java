@@ -0,0 +1,108 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.junit.jupiter.api.Test;
+
+// @checkstyle ClassDataAbstractionCoupling (2 lines)
+final class BinaryJsonTest {
+
+    private static final String TEXT =
+        "{\"name\":\"Thetis\",\"age\":10,\"fair\":true,"
+            + "\"home\":{\"rock\":\"Rock 1\"},\"sisters\":[\"Galatea\"]}";
+
+    @Test
+    void readsSmile() throws IOException {
+        SmartJson json = new SmartJson(
+            new BinaryJson(new SmileFactory(), encoded(new SmileFactory()))
+        );
+        assertEquals("Thetis", json.leaf("name"));
+        assertEquals(10, json.leafAsInt("age"));
+        assertTrue(json.leafAsBool("fair"));
+        assertEquals("Rock 1", json.at("/home").leaf("rock"));
+        assertEquals("Galatea", json.leaf("/sisters/0"));
+    }
+
+    @Test
+    void readsCborStreamOnce() throws IOException {
+        Json json = new BinaryJson(
+            new CBORFactory(),
+            new ByteArrayInputStream(encoded(new CBORFactory()))
+        );
+        assertEquals(TEXT, new SmartJson(json).textual());
+        assertEquals(TEXT, new SmartJson(json).textual());
+    }
+
+    @Test
+    void givesTextualBytes() throws IOException {
+        Json json = new BinaryJson(
+            new SmileFactory(), encoded(new SmileFactory())
+        );
+        assertArrayEquals(TEXT.getBytes(), new ByteArray(json).value());
+        assertEquals(TEXT, json.toString());
+    }
+
+    @Test
+    void readsEmptyDataAsMissing() {
+        assertTrue(
+            new SmartJson(
+                new BinaryJson(new SmileFactory(), new byte[0])
+            ).isMissing()
+        );
+    }
+
+    @Test
+    void failsOnMalformedData() {
+        assertThrows(
+            UncheckedIOException.class,
+            () -> new SmartJson(
+                new BinaryJson(new CBORFactory(), new byte[] {(byte) 0xff})
+            ).leaf("name")
+        );
+    }
+
+    @Test
+    void encodesSmartJsonInBinaryFormats() throws IOException {
+        SmartJson json = new SmartJson(new Json.Of(TEXT));
+        assertArrayEquals(
+            encoded(new SmileFactory()),
+            json.byteArray(new SmileFactory())
+        );
+        assertArrayEquals(
+            encoded(new CBORFactory()),
+            json.byteArray(new CBORFactory())
+        );
+    }
+
+    @Test
+    void roundTripsMutableJson() {
+        SmartJson json = new SmartJson(
+            new MutableJson().with("name", "Thetis").with("age", 10)
+        );
+        assertEquals(
+            json.textual(),
+            new SmartJson(
+                new BinaryJson(
+                    new SmileFactory(), json.byteArray(new SmileFactory())
+                )
+            ).textual()
+        );
+    }
+
+    private static byte[] encoded(
+        JsonFactory format
+    ) throws IOException {
+        return new ObjectMapper(format).writeValueAsBytes(
+            new ObjectMapper().readTree(TEXT)
+        );
+    }
+}
@@ -0,0 +1,70 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.UncheckedIOException;
+import org.junit.jupiter.api.Test;
+
+final class BoundariesTest {
+
+    @Test
+    void findsScalarElements() {
+        assertArrayEquals(
+            new int[] {1, 2, 3, 9, 10, 15},
+            new Boundaries("[1,\"text\",false]".getBytes(), 0).value()
+        );
+    }
+
+    @Test
+    void skipsNestedStructures() {
+        assertArrayEquals(
+            new int[] {1, 19, 20, 27},
+            new Boundaries("[{\"a\":[1,2],\"b\":{}},[[],{}]]".getBytes(), 0)
+                .value()
+        );
+    }
+
+    @Test
+    void skipsSpecialCharactersInStrings() {
+        assertArrayEquals(
+            new int[] {1, 11, 12, 15},
+            new Boundaries("[\"],[{\\\"\\\\\",\"}\"]".getBytes(), 0)
+                .value()
+        );
+    }
+
+    @Test
+    void keepsWhitespaceInsideBoundaries() {
+        assertArrayEquals(
+            new int[] {4, 6, 9, 12},
+            new Boundaries("  [ 1 ,\n 2 \t]".getBytes(), 2).value()
+        );
+    }
+
+    @Test
+    void findsNoElementsInEmptyArray() {
+        assertArrayEquals(
+            new int[0], new Boundaries("{\"a\": [ ]}".getBytes(), 6).value()
+        );
+    }
+
+    @Test
+    void rejectsMissingElements() {
+        assertThrows(
+            UncheckedIOException.class,
+            () -> new Boundaries("[1,,2]".getBytes(), 0).value()
+        );
+        assertThrows(
+            UncheckedIOException.class,
+            () -> new Boundaries("[1,2,]".getBytes(), 0).value()
+        );
+    }
+
+    @Test
+    void rejectsUnterminatedArray() {
+        assertThrows(
+            UncheckedIOException.class,
+            () -> new Boundaries("[1,[2]".getBytes(), 0).value()
+        );
+    }
+}
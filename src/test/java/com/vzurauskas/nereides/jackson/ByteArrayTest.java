@@ -0,0 +1,67 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+final class ByteArrayTest {
+
+    @Test
+    void readsStreamOfKnownLength() {
+        byte[] bytes = "{\"field\":\"value\"}".getBytes();
+        assertArrayEquals(
+            bytes,
+            new ByteArray(new ByteArrayInputStream(bytes)).value()
+        );
+    }
+
+    @Test
+    void readsEmptyStream() {
+        assertEquals(0, new ByteArray(new MissingJson()).value().length);
+    }
+
+    @Test
+    void readsStreamOfUnknownLength() {
+        byte[] first = new byte[3000];
+        byte[] second = new byte[1500];
+        for (int idx = 0; idx < first.length; ++idx) {
+            first[idx] = (byte) idx;
+        }
+        for (int idx = 0; idx < second.length; ++idx) {
+            second[idx] = (byte) (idx * 7);
+        }
+        byte[] expected = new byte[first.length + second.length];
+        System.arraycopy(first, 0, expected, 0, first.length);
+        System.arraycopy(second, 0, expected, first.length, second.length);
+        assertArrayEquals(
+            expected,
+            new ByteArray(
+                new SequenceInputStream(
+                    new ByteArrayInputStream(new byte[0]),
+                    new SequenceInputStream(
+                        new ByteArrayInputStream(first),
+                        new ByteArrayInputStream(second)
+                    )
+                )
+            ).value()
+        );
+    }
+
+    @Test
+    void closesStream() {
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream stream = new ByteArrayInputStream("{}".getBytes()) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        new ByteArray(stream);
+        assertTrue(closed.get());
+    }
+}
@@ -0,0 +1,34 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+final class ByteBufferInputStreamTest {
+
+    @Test
+    void readsByteByByte() throws IOException {
+        InputStream stream = new ByteBufferInputStream(
+            ByteBuffer.wrap(new byte[] {1, (byte) 200})
+        );
+        assertEquals(2, stream.available());
+        assertEquals(1, stream.read());
+        assertEquals(200, stream.read());
+        assertEquals(-1, stream.read());
+        assertEquals(0, stream.available());
+    }
+
+    @Test
+    void readsInBulk() throws IOException {
+        InputStream stream = new ByteBufferInputStream(
+            ByteBuffer.wrap(new byte[] {1, 2, 3})
+        );
+        byte[] bytes = new byte[5];
+        assertEquals(0, stream.read(bytes, 0, 0));
+        assertEquals(3, stream.read(bytes, 1, 4));
+        assertEquals(3, bytes[3]);
+        assertEquals(-1, stream.read(bytes, 0, 5));
+    }
+}
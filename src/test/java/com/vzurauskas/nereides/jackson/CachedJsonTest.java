@@ -0,0 +1,74 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+final class CachedJsonTest {
+
+    @Test
+    void givesBytesOfOrigin() {
+        String string = "{\"field\":\"value\"}";
+        Json json = new CachedJson(new Json.Of(string));
+        assertArrayEquals(string.getBytes(), new ByteArray(json).value());
+        assertArrayEquals(string.getBytes(), new ByteArray(json).value());
+    }
+
+    @Test
+    void readsOriginOnlyOnce() {
+        CountingJson origin = new CountingJson(new Json.Of("{\"a\":1}"));
+        Json json = new CachedJson(origin);
+        assertEquals(0, origin.reads());
+        new ByteArray(json);
+        new ByteArray(json);
+        assertEquals(1, new SmartJson(json).leafAsInt("a"));
+        assertEquals(1, origin.reads());
+    }
+
+    @Test
+    void readsOriginOnlyOnceWhenReadConcurrently()
+        throws InterruptedException, ExecutionException {
+        CountingJson origin = new CountingJson(new Json.Of("{\"a\":1}"));
+        Json json = new CachedJson(origin);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> reads = pool.invokeAll(
+                Collections.nCopies(
+                    8,
+                    (Callable<Integer>) () -> new SmartJson(json).leafAsInt("a")
+                )
+            );
+            for (Future<Integer> read : reads) {
+                assertEquals(1, read.get().intValue());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1, origin.reads());
+    }
+
+    @Test
+    void sharesParsedTreeBetweenSmartJsons() {
+        Json json = new CachedJson(new Json.Of("{\"a\":{\"b\":true}}"));
+        assertSame(
+            new SmartJson(json).node(),
+            new SmartJson(json).node()
+        );
+    }
+
+    @Test
+    void toStringWorksWhenMalformed() {
+        assertEquals(
+            "malformed",
+            new CachedJson(new Json.Of("malformed")).toString()
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+final class CachedTest {
+
+    @Test
+    void computesOnlyOnce() {
+        AtomicInteger computations = new AtomicInteger();
+        Cached<Integer> cached = new Cached<>(computations::incrementAndGet);
+        assertEquals(1, cached.value().intValue());
+        assertEquals(1, cached.value().intValue());
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    void computesOnlyOnceUnderContention() throws InterruptedException {
+        AtomicInteger computations = new AtomicInteger();
+        AtomicInteger seen = new AtomicInteger();
+        Thread[] contender = new Thread[1];
+        Cached<Integer> cached = new Cached<>(
+            () -> {
+                contender[0].start();
+                while (contender[0].getState() != Thread.State.BLOCKED) {
+                    Thread.yield();
+                }
+                return computations.incrementAndGet();
+            }
+        );
+        contender[0] = new Thread(() -> seen.set(cached.value()));
+        assertEquals(1, cached.value().intValue());
+        contender[0].join();
+        assertEquals(1, seen.get());
+        assertEquals(1, computations.get());
+    }
+}
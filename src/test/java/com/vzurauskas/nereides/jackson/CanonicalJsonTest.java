@@ -0,0 +1,122 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+final class CanonicalJsonTest {
+
+    @Test
+    void canonicalizesExampleOfRfc() {
+        assertEquals(
+            "{\"literals\":[null,true,false],"
+                + "\"numbers\":[333333333.3333333,1e+30,4.5,0.002,1e-27],"
+                + "\"string\":\"\u20ac$\\u000f\\nA'B\\\"\\\\\\\\\\\"/\"}",
+            new CanonicalJson(
+                new Json.Of(
+                    "{\"numbers\": [333333333.33333329, 1E30, 4.50, 2e-3, "
+                        + "0.000000000000000000000000001], "
+                        + "\"string\": \"\\u20ac$\\u000F\\u000aA'\\u0042"
+                        + "\\u0022\\u005c\\\\\\\"\\/\", "
+                        + "\"literals\": [null, true, false]}"
+                )
+            ).toString()
+        );
+    }
+
+    @Test
+    void sortsFieldsByCodeUnits() {
+        assertEquals(
+            "{\"\\r\":1,\"1\":2,\"\u0080\":3,\"\u00f6\":4,\"\u20ac\":5,"
+                + "\"\ud83d\ude00\":6,\"\ufb33\":7}",
+            new CanonicalJson(
+                new Json.Of(
+                    "{\"\\u20ac\": 5, \"\\r\": 1, \"\\ufb33\": 7, \"1\": 2, "
+                        + "\"\\ud83d\\ude00\": 6, \"\\u0080\": 3, "
+                        + "\"\\u00f6\": 4}"
+                )
+            ).toString()
+        );
+    }
+
+    @Test
+    void writesNumbersLikeJavaScript() {
+        assertEquals(
+            "[0,0,1,-1.5,123.456,100000000000000000000,1e+21,1.2345e+25,"
+                + "0.000001,1e-7,-1.5e-7,9007199254740992,5e-324,2e+23]",
+            new CanonicalJson(
+                new Json.Of(
+                    "[0, -0.0, 1, -1.5, 123.456, 1e20, 1e21, 1.2345e25, "
+                        + "0.000001, 1e-7, -1.5e-7, 9007199254740993, "
+                        + "4.9e-324, 2e23]"
+                )
+            ).toString()
+        );
+    }
+
+    @Test
+    void escapesControlCharacters() {
+        assertEquals(
+            "\"\\b\\t\\n\\f\\r\\u0001\\u001f ~\u007f\"",
+            new CanonicalJson(
+                new Json.Of("\"\\b\\t\\n\\f\\r\\u0001\\u001f ~\\u007f\"")
+            ).toString()
+        );
+    }
+
+    @Test
+    void givesBytesInUtf8() {
+        assertArrayEquals(
+            "{\"a\":\"\u20ac\"}".getBytes(StandardCharsets.UTF_8),
+            new ByteArray(
+                new CanonicalJson(new Json.Of("{ \"a\" : \"\\u20ac\" }"))
+            ).value()
+        );
+    }
+
+    @Test
+    void canonicalizesEqualJsonsAlike() {
+        assertEquals(
+            new CanonicalJson(
+                new MutableJson().with("b", 2.0).with("a", "x")
+            ).toString(),
+            new CanonicalJson(new Json.Of("{\"a\":\"x\",\"b\":2}")).toString()
+        );
+    }
+
+    @Test
+    void writesBinaryAsBase64() {
+        assertEquals(
+            "{\"a\":\"AQI=\"}",
+            new CanonicalJson(
+                new Json.Of(
+                    JsonNodeFactory.instance.objectNode()
+                        .put("a", new byte[] {1, 2})
+                )
+            ).toString()
+        );
+    }
+
+    @Test
+    void canonicalizesMissingJson() {
+        assertEquals("", new CanonicalJson(new MissingJson()).toString());
+    }
+
+    @Test
+    void rejectsNumbersBeyondDoubles() {
+        String huge = "1" + new String(new char[400]).replace('\0', '0');
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new CanonicalJson(new Json.Of(huge)).toString()
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new CanonicalJson(
+                new Json.Of(JsonNodeFactory.instance.numberNode(Double.NaN))
+            ).toString()
+        );
+    }
+}
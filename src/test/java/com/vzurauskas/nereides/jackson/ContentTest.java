@@ -0,0 +1,34 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import org.junit.jupiter.api.Test;
+
+final class ContentTest {
+
+    @Test
+    void equalsContentOfSameBytes() {
+        Content content = new Content(new byte[] {1, 2});
+        assertEquals(content, content);
+        assertEquals(new Content(new byte[] {1, 2}), content);
+        assertEquals(
+            new Content(new byte[] {1, 2}).hashCode(), content.hashCode()
+        );
+    }
+
+    @Test
+    void differsFromContentOfOtherBytes() {
+        assertNotEquals(
+            new Content(new byte[] {2, 1}), new Content(new byte[] {1, 2})
+        );
+        assertNotEquals(new Content(new byte[] {1, 2}), new byte[] {1, 2});
+    }
+
+    @Test
+    void differsFromContentOfSameHash() {
+        Content first = new Content(new byte[] {0, 31});
+        Content second = new Content(new byte[] {1, 0});
+        assertEquals(first.hashCode(), second.hashCode());
+        assertNotEquals(first, second);
+    }
+}
@@ -0,0 +1,24 @@
+package com.vzurauskas.nereides.jackson;
+
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class CountingJson implements Json {
+    private final Json origin;
+    private final AtomicInteger reads;
+
+    public CountingJson(Json origin) {
+        this.origin = origin;
+        this.reads = new AtomicInteger();
+    }
+
+    public int reads() {
+        return reads.get();
+    }
+
+    @Override
+    public InputStream bytes() {
+        reads.incrementAndGet();
+        return origin.bytes();
+    }
+}
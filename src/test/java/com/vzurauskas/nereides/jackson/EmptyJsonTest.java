@@ -1,5 +1,6 @@
 package com.vzurauskas.nereides.jackson;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import org.junit.jupiter.api.Test;
 
 final class EmptyJsonTest {
@@ -10,4 +11,9 @@ final class EmptyJsonTest {
             new EmptyJson()
         ).affirm();
     }
+
+    @Test
+    void hasBytesOfEmptyObject() {
+        assertEquals("{}", new String(new ByteArray(new EmptyJson()).value()));
+    }
 }
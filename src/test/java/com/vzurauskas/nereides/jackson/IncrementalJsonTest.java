@@ -0,0 +1,118 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.fasterxml.jackson.core.JsonParseException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+
+final class IncrementalJsonTest {
+
+    @Test
+    void parsesChunks() throws InterruptedException, ExecutionException {
+        IncrementalJson json = new IncrementalJson();
+        json.feed(chunk("{\"name\":\"The")).feed(chunk("tis\",\"ag"));
+        assertFalse(json.json().isDone());
+        json.feed(chunk("e\":10,\"home\":{\"rock\":\"Rock 1\"}}"));
+        assertFalse(json.json().isDone());
+        json.end();
+        assertTrue(json.json().isDone());
+        SmartJson smart = json.json().get();
+        assertEquals("Thetis", smart.leaf("name"));
+        assertEquals(10, smart.leafAsInt("age"));
+        assertEquals("Rock 1", smart.at("/home").leaf("rock"));
+    }
+
+    @Test
+    void parsesSingleBytes() throws InterruptedException, ExecutionException {
+        String text = "{\"a\":[1,2.5,true,null,\"ž\"],\"b\":{}}";
+        IncrementalJson json = new IncrementalJson();
+        for (byte single : text.getBytes(StandardCharsets.UTF_8)) {
+            json.feed(ByteBuffer.wrap(new byte[] {single}));
+        }
+        json.end();
+        assertEquals(
+            "{\"a\":[1,2.5,true,null,\"ž\"],\"b\":{}}",
+            json.json().get().textual()
+        );
+    }
+
+    @Test
+    void completesScalarAtEnd()
+        throws InterruptedException, ExecutionException {
+        IncrementalJson json = new IncrementalJson().feed(chunk("12"));
+        assertFalse(json.json().isDone());
+        assertEquals("12", json.end().json().get().textual());
+    }
+
+    @Test
+    void givesMissingJsonForEmptyBody()
+        throws InterruptedException, ExecutionException {
+        assertTrue(
+            new IncrementalJson().feed(chunk(" ")).end().json().get()
+                .isMissing()
+        );
+    }
+
+    @Test
+    void allowsWhitespaceAfterValue()
+        throws InterruptedException, ExecutionException {
+        assertEquals(
+            "[1]",
+            new IncrementalJson().feed(chunk("[1] ")).feed(chunk("\r\n"))
+                .end().feed(chunk("[2]")).end().json().get().textual()
+        );
+    }
+
+    @Test
+    void failsOnContentAfterValue() {
+        for (String trailing : new String[] {"[2]", "{}", "2", "\"x\""}) {
+            IncrementalJson json = new IncrementalJson()
+                .feed(chunk("{\"a\":1} ")).feed(chunk(trailing)).end();
+            ExecutionException ex = assertThrows(
+                ExecutionException.class, () -> json.json().get()
+            );
+            assertTrue(ex.getCause() instanceof JsonParseException);
+        }
+    }
+
+    @Test
+    void buildsSameTreeAsParser()
+        throws InterruptedException, ExecutionException {
+        String text = "{\"i\":1,\"l\":5000000000,"
+            + "\"b\":100000000000000000000,\"d\":-1.5e3,\"t\":true,"
+            + "\"f\":false,\"n\":null,\"s\":\"x\",\"a\":[[],{},[{}]]}";
+        SmartJson parsed = new SmartJson(new Json.Of(text));
+        SmartJson incremental = new IncrementalJson().feed(chunk(text)).end()
+            .json().get();
+        assertEquals(parsed.node(), incremental.node());
+        assertEquals(parsed.textual(), incremental.textual());
+    }
+
+    @Test
+    void failsOnMalformedChunk() {
+        IncrementalJson json = new IncrementalJson().feed(chunk("{\"a\" 1"));
+        json.feed(chunk("}")).end();
+        ExecutionException ex = assertThrows(
+            ExecutionException.class, () -> json.json().get()
+        );
+        assertTrue(ex.getCause() instanceof JsonParseException);
+    }
+
+    @Test
+    void failsOnIncompleteBody() {
+        assertThrows(
+            ExecutionException.class,
+            () -> new IncrementalJson().feed(chunk("{\"a\":[1,")).end()
+                .json().get()
+        );
+    }
+
+    private static ByteBuffer chunk(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
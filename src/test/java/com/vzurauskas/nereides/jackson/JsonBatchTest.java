@@ -0,0 +1,361 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+final class JsonBatchTest {
+
+    private static final int SIZE = 1000;
+
+    @Test
+    void scansColumns() {
+        JsonBatch batch = new JsonBatch(events());
+        assertEquals(SIZE, batch.size());
+        assertEquals((long) SIZE * (SIZE - 1) / 2, batch.ints("/id").sum());
+        assertEquals(
+            (long) SIZE * (SIZE - 1) / 2 * 3_000_000_000L,
+            batch.longs("/header/stamp").sum()
+        );
+        assertEquals(SIZE * 1.5, batch.doubles("amount").sum());
+        assertEquals(
+            Arrays.asList("even", "odd"),
+            batch.texts("/tags/0").distinct().collect(Collectors.toList())
+        );
+        assertEquals(SIZE / 2, batch.texts("/tags/1").filter(tag -> tag == null)
+            .count());
+    }
+
+    @Test
+    void rebuildsRows() {
+        JsonBatch batch = new JsonBatch(events());
+        assertEquals(
+            new SmartJson(events().get(7)).textual(),
+            batch.row(7).textual()
+        );
+        assertEquals(
+            new SmartJson(events().get(SIZE - 1)).textual(),
+            batch.rows().skip(SIZE - 1).findFirst().get().textual()
+        );
+    }
+
+    @Test
+    void keepsNulls() {
+        JsonBatch batch = new JsonBatch(
+            Arrays.asList(
+                new Json.Of("{\"a\": null, \"b\": 1, \"c\": true}"),
+                new Json.Of("{\"a\": 2, \"b\": null, \"c\": null}"),
+                new Json.Of("{\"a\": null, \"b\": 3, \"c\": false}")
+            )
+        );
+        assertEquals(
+            "{\"a\":null,\"b\":1,\"c\":true}",
+            batch.row(0).textual()
+        );
+        assertEquals(
+            "{\"a\":2,\"b\":null,\"c\":null}",
+            batch.row(1).textual()
+        );
+        assertArrayEquals(new int[] {0, 2, 0}, batch.ints("a").toArray());
+        assertArrayEquals(new long[] {1, 0, 3}, batch.longs("b").toArray());
+        assertEquals(
+            Arrays.asList(true, false, false),
+            batch.bools("c").collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    void scansBooleans() {
+        JsonBatch batch = new JsonBatch(
+            IntStream.range(0, SIZE)
+                .mapToObj(idx -> new Json.Of("[" + (idx % 3 == 0) + "]"))
+                .collect(Collectors.toList())
+        );
+        assertEquals(
+            (SIZE + 2) / 3,
+            batch.bools("/0").filter(Boolean::booleanValue).count()
+        );
+        assertEquals(SIZE, batch.bools("/0").count());
+    }
+
+    @Test
+    void rebuildsEarlierRowsInWidenedType() {
+        JsonBatch batch = new JsonBatch(
+            Arrays.asList(
+                new Json.Of("{\"a\": 1}"),
+                new Json.Of("{\"a\": 1.5}")
+            )
+        );
+        assertEquals("{\"a\":1.0}", batch.row(0).textual());
+        assertEquals(new SmartJson(new Json.Of("{\"a\": 1}")), batch.row(0));
+        assertThrows(IllegalStateException.class, () -> batch.ints("a"));
+    }
+
+    @Test
+    void keepsColumnOfNulls() {
+        JsonBatch batch = new JsonBatch(
+            Arrays.asList(new Json.Of("[null]"), new Json.Of("[null]"))
+        );
+        assertEquals("[null]", batch.row(1).textual());
+        assertEquals(
+            Arrays.asList(null, null),
+            batch.texts("/0").collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    void widensColumns() {
+        JsonBatch batch = new JsonBatch(
+            Arrays.asList(
+                new Json.Of("{\"a\": 1, \"b\": 1, \"c\": 1}"),
+                new Json.Of("{\"a\": 5000000000, \"b\": 2.5, \"c\": 2}"),
+                new Json.Of(
+                    "{\"a\": 0.5, \"b\": 3, \"c\": 100000000000000000000}"
+                ),
+                new Json.Of("{\"a\": 1, \"b\": 4, \"c\": 1e30}")
+            )
+        );
+        assertArrayEquals(
+            new double[] {1, 5e9, 0.5, 1},
+            batch.doubles("a").toArray()
+        );
+        assertArrayEquals(
+            new double[] {1, 2.5, 3, 4},
+            batch.doubles("b").toArray()
+        );
+        assertArrayEquals(
+            new double[] {1, 2, 1e20, 1e30},
+            batch.doubles("c").toArray()
+        );
+        assertEquals(
+            "{\"a\":5.0E9,\"b\":2.5,\"c\":2.0}",
+            batch.row(1).textual()
+        );
+    }
+
+    @Test
+    void widensToLongs() {
+        JsonBatch batch = new JsonBatch(
+            Arrays.asList(
+                new Json.Of("[1, 5000000000]"),
+                new Json.Of("[5000000000, 1]"),
+                new Json.Of("[null, 100000000000000000000]")
+            )
+        );
+        assertArrayEquals(
+            new long[] {1, 5_000_000_000L, 0},
+            batch.longs("/0").toArray()
+        );
+        assertArrayEquals(
+            new double[] {1, 5e9, 0},
+            batch.doubles("/0").toArray()
+        );
+        assertArrayEquals(
+            new double[] {5e9, 1, 1e20},
+            batch.doubles("/1").toArray()
+        );
+        assertEquals("[1,5.0E9]", batch.row(0).textual());
+    }
+
+    @Test
+    void typesColumnsByFirstValue() {
+        JsonBatch batch = new JsonBatch(
+            Arrays.asList(
+                new Json.Of("[null, null, null, null, null]"),
+                new Json.Of(
+                    "[1, 5000000000, 0.5, true, 100000000000000000000]"
+                ),
+                new Json.Of("[1, 1, null, false, 1]")
+            )
+        );
+        assertArrayEquals(new int[] {0, 1, 1}, batch.ints("/0").toArray());
+        assertArrayEquals(
+            new double[] {0, 1, 1},
+            batch.doubles("/0").toArray()
+        );
+        assertArrayEquals(
+            new long[] {0, 5_000_000_000L, 1},
+            batch.longs("/1").toArray()
+        );
+        assertArrayEquals(
+            new double[] {0, 0.5, 0},
+            batch.doubles("/2").toArray()
+        );
+        assertArrayEquals(
+            new double[] {0, 1e20, 1},
+            batch.doubles("/4").toArray()
+        );
+        assertEquals("[null,null,null,null,null]", batch.row(0).textual());
+        assertEquals("[1,1,null,false,1.0]", batch.row(2).textual());
+    }
+
+    @Test
+    void batchesScalars() {
+        JsonBatch batch = new JsonBatch(
+            Arrays.asList(new Json.Of("1"), new Json.Of("2"))
+        );
+        assertArrayEquals(new int[] {1, 2}, batch.ints("").toArray());
+        assertEquals("2", batch.row(1).textual());
+    }
+
+    @Test
+    void batchesEscapedNames() {
+        JsonBatch batch = new JsonBatch(
+            Collections.singletonList(new Json.Of("{\"a/b\": {\"c~d\": 1}}"))
+        );
+        assertArrayEquals(new int[] {1}, batch.ints("/a~1b/c~0d").toArray());
+        assertThrows(IllegalArgumentException.class, () -> batch.ints("a/b"));
+    }
+
+    @Test
+    void batchesNothing() {
+        JsonBatch batch = new JsonBatch(Collections.emptyList());
+        assertEquals(0, batch.size());
+        assertEquals(0, batch.rows().count());
+        assertThrows(IllegalArgumentException.class, () -> batch.ints("/a"));
+    }
+
+    @Test
+    void rejectsUnknownRows() {
+        JsonBatch batch = new JsonBatch(events());
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.row(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.row(SIZE));
+    }
+
+    @Test
+    void rejectsUnknownLeaves() {
+        JsonBatch batch = new JsonBatch(events());
+        assertThrows(IllegalArgumentException.class, () -> batch.ints("/x"));
+        assertThrows(
+            IllegalArgumentException.class, () -> batch.texts("/header")
+        );
+    }
+
+    @Test
+    void rejectsScansOfWrongType() {
+        JsonBatch batch = new JsonBatch(
+            Collections.singletonList(
+                new Json.Of(
+                    "{\"i\": 1, \"l\": 5000000000, \"d\": 0.5, "
+                        + "\"b\": true, \"t\": \"x\"}"
+                )
+            )
+        );
+        assertThrows(IllegalStateException.class, () -> batch.texts("i"));
+        assertThrows(IllegalStateException.class, () -> batch.bools("i"));
+        assertThrows(IllegalStateException.class, () -> batch.bools("l"));
+        assertThrows(IllegalStateException.class, () -> batch.bools("d"));
+        assertThrows(IllegalStateException.class, () -> batch.bools("t"));
+        assertThrows(IllegalStateException.class, () -> batch.ints("l"));
+        assertThrows(IllegalStateException.class, () -> batch.texts("l"));
+        assertThrows(IllegalStateException.class, () -> batch.ints("d"));
+        assertThrows(IllegalStateException.class, () -> batch.longs("d"));
+        assertThrows(IllegalStateException.class, () -> batch.texts("d"));
+        assertThrows(IllegalStateException.class, () -> batch.ints("b"));
+        assertThrows(IllegalStateException.class, () -> batch.longs("b"));
+        assertThrows(IllegalStateException.class, () -> batch.doubles("b"));
+        assertThrows(IllegalStateException.class, () -> batch.texts("b"));
+        assertThrows(IllegalStateException.class, () -> batch.ints("t"));
+        assertThrows(IllegalStateException.class, () -> batch.longs("t"));
+        assertThrows(IllegalStateException.class, () -> batch.doubles("t"));
+        assertEquals(
+            "{\"i\":1,\"l\":5000000000,\"d\":0.5,\"b\":true,\"t\":\"x\"}",
+            batch.row(0).textual()
+        );
+    }
+
+    @Test
+    void rejectsDocumentsOfOtherShape() {
+        List<String> others = Arrays.asList(
+            "{\"a\": [1], \"b\": {\"c\": 1}}",
+            "{\"a\": [\"x\"], \"b\": {\"c\": \"x\"}, \"d\": 1}",
+            "{\"a\": [\"x\"], \"z\": {\"c\": \"x\"}}",
+            "{\"a\": [\"x\", \"y\"], \"b\": {\"c\": \"x\"}}",
+            "{\"a\": {}, \"b\": {\"c\": \"x\"}}",
+            "{\"a\": [\"x\"], \"b\": {\"c\": {}}}",
+            "{\"a\": \"x\", \"b\": {\"c\": \"x\"}}",
+            "{\"a\": [true], \"b\": {\"c\": \"x\"}}"
+        );
+        for (String other : others) {
+            IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> new JsonBatch(
+                    Arrays.asList(
+                        new Json.Of("{\"a\": [\"x\"], \"b\": {\"c\": \"y\"}}"),
+                        new Json.Of(other)
+                    )
+                ),
+                other
+            );
+            assertTrue(thrown.getMessage().startsWith("Document 1"), other);
+        }
+    }
+
+    @Test
+    void rejectsLeavesOfOtherType() {
+        List<String> others = Arrays.asList(
+            "{\"i\": \"x\", \"l\": 1, \"d\": 1, \"b\": true}",
+            "{\"i\": 1, \"l\": \"x\", \"d\": 1, \"b\": true}",
+            "{\"i\": 1, \"l\": 1, \"d\": \"x\", \"b\": true}",
+            "{\"i\": 1, \"l\": 1, \"d\": 1, \"b\": 1}"
+        );
+        for (String other : others) {
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> new JsonBatch(
+                    Arrays.asList(
+                        new Json.Of(
+                            "{\"i\": 1, \"l\": 5000000000, \"d\": 0.5, "
+                                + "\"b\": false}"
+                        ),
+                        new Json.Of(other)
+                    )
+                ),
+                other
+            );
+        }
+    }
+
+    @Test
+    void rejectsLeavesOfUnknownType() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new JsonBatch(
+                Collections.singletonList(
+                    new Json.Of(
+                        JsonNodeFactory.instance.objectNode()
+                            .put("a", new byte[] {1})
+                    )
+                )
+            )
+        );
+    }
+
+    private static List<Json> events() {
+        List<Json> events = new ArrayList<>(SIZE);
+        IntStream.range(0, SIZE).forEach(
+            id -> events.add(
+                new Json.Of(
+                    String.format(
+                        "{\"id\": %d, \"header\": {\"stamp\": %d}, "
+                            + "\"amount\": 1.5, \"tags\": [%s, %s]}",
+                        id,
+                        id * 3_000_000_000L,
+                        id % 2 == 0 ? "\"even\"" : "\"odd\"",
+                        id % 2 == 0 ? "null" : "\"x\""
+                    )
+                )
+            )
+        );
+        return events;
+    }
+}
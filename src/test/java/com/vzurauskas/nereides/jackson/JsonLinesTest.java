@@ -0,0 +1,139 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import com.sun.management.UnixOperatingSystemMXBean;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+final class JsonLinesTest {
+
+    private final Path file;
+
+    JsonLinesTest() throws URISyntaxException {
+        this.file = Paths.get(
+            JsonLinesTest.class.getClassLoader()
+                .getResource("nereides.jsonl").toURI()
+        );
+    }
+
+    @Test
+    void iteratesRecordsOfFile() {
+        List<String> names = new ArrayList<>();
+        for (SmartJson record : new JsonLines(file)) {
+            names.add(record.leaf("name"));
+        }
+        assertEquals(Arrays.asList("Thetis", "Galatea", "Amphitrite"), names);
+    }
+
+    @Test
+    void iteratesFileMoreThanOnce() {
+        JsonLines lines = new JsonLines(file);
+        assertEquals(3, lines.stream().count());
+        assertEquals(
+            Arrays.asList("Rock 1", "Rock 2", "Rock 3"),
+            lines.stream()
+                .map(record -> record.at("/home").leaf("rock"))
+                .collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    void streamsRecordsOfStream() {
+        assertEquals(
+            60,
+            new JsonLines(
+                stream("{\"age\":10}\n{\"age\":20}\r\n{\"age\":30}")
+            ).stream().mapToInt(record -> record.leafAsInt("age")).sum()
+        );
+    }
+
+    @Test
+    void readsEmptyStream() {
+        assertFalse(new JsonLines(stream("")).iterator().hasNext());
+    }
+
+    @Test
+    void pullsRecordsLazily() {
+        Iterator<SmartJson> records = new JsonLines(
+            stream("{\"a\":1}\n{\"a\":")
+        ).iterator();
+        assertEquals(1, records.next().leafAsInt("a"));
+        assertThrows(RuntimeException.class, records::next);
+    }
+
+    @Test
+    void closesInputAtEnd() {
+        ClosingStream input = new ClosingStream(stream("{}\n[]"));
+        new JsonLines(input).forEach(record -> { });
+        assertTrue(input.closed);
+    }
+
+    @Test
+    void closesInputWithStream() {
+        ClosingStream input = new ClosingStream(stream("{}\n{}\n{}"));
+        try (Stream<SmartJson> records = new JsonLines(input).stream()) {
+            assertTrue(records.findFirst().isPresent());
+        }
+        assertTrue(input.closed);
+    }
+
+    @Test
+    void releasesFileWhenStreamIsClosedPartway() throws IOException {
+        OperatingSystemMXBean system =
+            ManagementFactory.getOperatingSystemMXBean();
+        assumeTrue(
+            system instanceof UnixOperatingSystemMXBean,
+            "Open files can not be counted on this operating system"
+        );
+        UnixOperatingSystemMXBean unix = (UnixOperatingSystemMXBean) system;
+        File lines = File.createTempFile("records", "jsonl");
+        lines.deleteOnExit();
+        Files.write(lines.toPath(), "{\"a\":1}\n{\"a\":2}\n".getBytes());
+        long before = unix.getOpenFileDescriptorCount();
+        JsonLines records = new JsonLines(lines.toPath());
+        try (Stream<SmartJson> stream = records.stream()) {
+            assertEquals(1, stream.findFirst().get().leafAsInt("a"));
+            assertEquals(before + 1, unix.getOpenFileDescriptorCount());
+        }
+        assertEquals(before, unix.getOpenFileDescriptorCount());
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class ClosingStream extends FilterInputStream {
+        private boolean closed;
+
+        ClosingStream(InputStream origin) {
+            super(origin);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
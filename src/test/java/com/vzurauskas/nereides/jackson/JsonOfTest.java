@@ -2,17 +2,21 @@ package com.vzurauskas.nereides.jackson;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintStream;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
 final class JsonOfTest {
@@ -113,4 +117,54 @@ final class JsonOfTest {
         file.delete();
         assertArrayEquals(string.getBytes(), new ByteArray(json).value());
     }
+
+    @Test
+    void keepsBytesOfFileReadFirst() throws IOException {
+        File file = File.createTempFile("first", "json");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "[1]".getBytes());
+        Json json = new Json.Of(file.toPath());
+        assertArrayEquals("[1]".getBytes(), new ByteArray(json).value());
+        Files.write(file.toPath(), "[2]".getBytes());
+        assertArrayEquals("[1]".getBytes(), new ByteArray(json).value());
+        assertTrue(file.delete());
+    }
+
+    @Test
+    void canBeReadByManyThreadsAtOnce() throws InterruptedException {
+        StringBuilder string = new StringBuilder("[0");
+        for (int idx = 1; idx < 10_000; ++idx) {
+            string.append(',').append(idx);
+        }
+        byte[] bytes = string.append(']').toString().getBytes();
+        Json json = new Json.Of(bytes);
+        AtomicInteger intact = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+        for (int idx = 0; idx < threads.length; ++idx) {
+            threads[idx] = new Thread(
+                () -> {
+                    for (int read = 0; read < 50; ++read) {
+                        if (Arrays.equals(bytes, new ByteArray(json).value())) {
+                            intact.incrementAndGet();
+                        }
+                    }
+                }
+            );
+            threads[idx].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(threads.length * 50, intact.get());
+    }
+
+    @Test
+    void givesIndependentStreams() throws IOException {
+        Json json = new Json.Of("{\"number\": 12}");
+        InputStream first = json.bytes();
+        InputStream second = json.bytes();
+        assertEquals('{', first.read());
+        assertEquals('{', second.read());
+        assertEquals('"', first.read());
+    }
 }
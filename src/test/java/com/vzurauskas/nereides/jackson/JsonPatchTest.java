@@ -0,0 +1,272 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+final class JsonPatchTest {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    @Test
+    void isEmptyForEqualJsons() {
+        assertEquals(
+            "[]",
+            new JsonPatch(
+                new Json.Of("{\"a\": [1, {\"b\": null}], \"c\": \"d\"}"),
+                new Json.Of("{\"c\": \"d\", \"a\": [1, {\"b\": null}]}")
+            ).toString()
+        );
+    }
+
+    @Test
+    void changesFieldsOfObjects() {
+        assertPatch(
+            "{\"a\": 1, \"b\": {\"c\": 2, \"d\": 3}, \"e\": \"x\"}",
+            "{\"a\": 1, \"b\": {\"c\": 5}, \"f\": [1]}",
+            "[{\"op\":\"replace\",\"path\":\"/b/c\",\"value\":5},"
+                + "{\"op\":\"remove\",\"path\":\"/b/d\"},"
+                + "{\"op\":\"remove\",\"path\":\"/e\"},"
+                + "{\"op\":\"add\",\"path\":\"/f\",\"value\":[1]}]"
+        );
+    }
+
+    @Test
+    void escapesNamesOfFields() {
+        assertPatch(
+            "{\"a/b\": 1, \"m~n\": 2}",
+            "{\"a/b\": 3, \"m~n\": 2}",
+            "[{\"op\":\"replace\",\"path\":\"/a~1b\",\"value\":3}]"
+        );
+    }
+
+    @Test
+    void replacesNodesOfOtherTypes() {
+        assertPatch(
+            "{\"a\": [1], \"b\": {\"c\": 1}, \"d\": 1}",
+            "{\"a\": {\"0\": 1}, \"b\": [1], \"d\": \"1\"}",
+            "[{\"op\":\"replace\",\"path\":\"/a\",\"value\":{\"0\":1}},"
+                + "{\"op\":\"replace\",\"path\":\"/b\",\"value\":[1]},"
+                + "{\"op\":\"replace\",\"path\":\"/d\",\"value\":\"1\"}]"
+        );
+    }
+
+    @Test
+    void keepsSameNumbers() {
+        assertEquals(
+            "[]",
+            new JsonPatch(
+                new Json.Of("{\"a\": 1, \"b\": [2, 1e400, 3]}"),
+                new Json.Of("{\"a\": 1.0, \"b\": [2.00, 1E+400, 3]}")
+            ).toString()
+        );
+    }
+
+    @Test
+    void replacesScalarRoot() {
+        assertEquals(
+            "[{\"op\":\"replace\",\"path\":\"\",\"value\":2}]",
+            new JsonPatch(new Json.Of("1"), new Json.Of("2")).toString()
+        );
+    }
+
+    @Test
+    void insertsElementsIntoArrays() {
+        assertPatch(
+            "{\"a\": [1, 2, 3]}",
+            "{\"a\": [1, 8, 9, 2, 3]}",
+            "[{\"op\":\"add\",\"path\":\"/a/1\",\"value\":8},"
+                + "{\"op\":\"add\",\"path\":\"/a/2\",\"value\":9}]"
+        );
+    }
+
+    @Test
+    void removesElementsFromArrays() {
+        assertPatch(
+            "{\"a\": [1, 2, 3, 4]}",
+            "{\"a\": [1, 4]}",
+            "[{\"op\":\"remove\",\"path\":\"/a/2\"},"
+                + "{\"op\":\"remove\",\"path\":\"/a/1\"}]"
+        );
+    }
+
+    @Test
+    void changesElementsOfArraysInPlace() {
+        assertPatch(
+            "{\"a\": [1, {\"x\": 1}, 3]}",
+            "{\"a\": [1, {\"x\": 2}, 3]}",
+            "[{\"op\":\"replace\",\"path\":\"/a/1/x\",\"value\":2}]"
+        );
+    }
+
+    @Test
+    void changesAndRemovesElementsOfArrays() {
+        assertPatch(
+            "{\"a\": [1, 2, 3]}",
+            "{\"a\": [5, 6]}",
+            "[{\"op\":\"replace\",\"path\":\"/a/0\",\"value\":5},"
+                + "{\"op\":\"replace\",\"path\":\"/a/1\",\"value\":6},"
+                + "{\"op\":\"remove\",\"path\":\"/a/2\"}]"
+        );
+    }
+
+    @Test
+    void changesAndAddsElementsOfArrays() {
+        assertPatch(
+            "{\"a\": [1, 2]}",
+            "{\"a\": [3, 4, 5, 6]}",
+            "[{\"op\":\"replace\",\"path\":\"/a/0\",\"value\":3},"
+                + "{\"op\":\"replace\",\"path\":\"/a/1\",\"value\":4},"
+                + "{\"op\":\"add\",\"path\":\"/a/2\",\"value\":5},"
+                + "{\"op\":\"add\",\"path\":\"/a/3\",\"value\":6}]"
+        );
+    }
+
+    @Test
+    void skipsCommonEndsOfArrays() {
+        assertPatch(
+            "{\"a\": [1, 2], \"b\": [1, 2, 3], \"c\": [1, 2, 3]}",
+            "{\"a\": [1, 2, 3], \"b\": [1, 2], \"c\": [0, 1, 2, 3]}",
+            "[{\"op\":\"add\",\"path\":\"/a/2\",\"value\":3},"
+                + "{\"op\":\"remove\",\"path\":\"/b/2\"},"
+                + "{\"op\":\"add\",\"path\":\"/c/0\",\"value\":0}]"
+        );
+        assertPatch(
+            "{\"a\": [0, 1, 2, 3]}",
+            "{\"a\": [1, 2, 3]}",
+            "[{\"op\":\"remove\",\"path\":\"/a/0\"}]"
+        );
+    }
+
+    @Test
+    void alignsElementsOfArrays() {
+        assertPatch(
+            "{\"a\": [0, 1, 2, 3, 4, 5, 6, 7]}",
+            "{\"a\": [1, 2, 3, 4, 5, 6, 7, 9]}",
+            "[{\"op\":\"remove\",\"path\":\"/a/0\"},"
+                + "{\"op\":\"add\",\"path\":\"/a/7\",\"value\":9}]"
+        );
+        assertPatch(
+            "{\"a\": [0, 1, {\"x\": 1}, 2, 3, 4]}",
+            "{\"a\": [1, {\"x\": 2}, 2, 3, 6, 7]}",
+            "[{\"op\":\"remove\",\"path\":\"/a/0\"},"
+                + "{\"op\":\"replace\",\"path\":\"/a/1/x\",\"value\":2},"
+                + "{\"op\":\"replace\",\"path\":\"/a/4\",\"value\":6},"
+                + "{\"op\":\"add\",\"path\":\"/a/5\",\"value\":7}]"
+        );
+    }
+
+    @Test
+    void comparesArraysByPositionBeyondLimitOfEdits() {
+        ObjectNode source = NODES.objectNode();
+        ObjectNode target = NODES.objectNode();
+        for (int idx = 0; idx < 40; ++idx) {
+            source.withArray("a").add(idx).add("s");
+            target.withArray("a").add(idx).add("t");
+        }
+        Json patch = new JsonPatch(new Json.Of(source), new Json.Of(target));
+        assertEquals(40, new Tree(patch).value().size());
+        assertEquals("/a/1", new SmartJson(patch).leaf("/0/path"));
+        assertEquals(
+            target.toString(),
+            new MutableJson(new Json.Of(source)).patch(patch).toString()
+        );
+    }
+
+    @Test
+    void turnsSourceIntoTarget() {
+        Random random = new Random(42);
+        for (int run = 0; run < 100; ++run) {
+            ObjectNode source = NODES.objectNode();
+            source.set("root", tree(random, 4));
+            ObjectNode target = source.deepCopy();
+            mutate(random, target, 5);
+            Json patch = new JsonPatch(
+                new SmartJson(new Json.Of(source)),
+                new SmartJson(new Json.Of(target))
+            );
+            assertEquals(
+                target.toString(),
+                new MutableJson(new Json.Of(source)).patch(patch).toString()
+            );
+        }
+    }
+
+    @Test
+    void sharesTreeWithSmartJson() {
+        JsonPatch patch = new JsonPatch(
+            new Json.Of("{\"a\": 1}"), new Json.Of("{\"a\": 2}")
+        );
+        assertTrue(new Tree(patch).held());
+        assertEquals("/a", new SmartJson(patch).leaf("/0/path"));
+    }
+
+    private static void assertPatch(
+        String source, String target, String patch
+    ) {
+        Json diff = new JsonPatch(
+            new SmartJson(new Json.Of(source)),
+            new SmartJson(new Json.Of(target))
+        );
+        assertEquals(patch, diff.toString());
+        assertEquals(
+            new MutableJson(new Json.Of(target)).toString(),
+            new MutableJson(new Json.Of(source)).patch(diff).toString()
+        );
+    }
+
+    private static JsonNode tree(Random random, int depth) {
+        final JsonNode node;
+        final int kind = random.nextInt(depth > 0 ? 4 : 2);
+        if (kind == 0) {
+            node = NODES.numberNode(random.nextInt(5));
+        } else if (kind == 1) {
+            node = NODES.textNode("t" + random.nextInt(5));
+        } else if (kind == 2) {
+            final ArrayNode array = NODES.arrayNode();
+            for (int idx = random.nextInt(6); idx > 0; --idx) {
+                array.add(tree(random, depth - 1));
+            }
+            node = array;
+        } else {
+            // Fields are named in order, so the ones the patch adds to
+            // any object come after the ones it keeps, as in the target.
+            final ObjectNode object = NODES.objectNode();
+            for (int idx = 0, size = random.nextInt(6); idx < size; ++idx) {
+                object.set("f" + idx, tree(random, depth - 1));
+            }
+            node = object;
+        }
+        return node;
+    }
+
+    private static void mutate(Random random, JsonNode node, int depth) {
+        if (node.isObject()) {
+            final ObjectNode object = (ObjectNode) node;
+            if (random.nextBoolean()) {
+                object.set("f" + random.nextInt(8), tree(random, 2));
+            }
+            if (random.nextBoolean()) {
+                object.remove("f" + random.nextInt(8));
+            }
+        } else if (node.isArray()) {
+            final ArrayNode array = (ArrayNode) node;
+            if (random.nextBoolean()) {
+                array.insert(random.nextInt(array.size() + 1), tree(random, 2));
+            }
+            if (random.nextBoolean() && array.size() > 0) {
+                array.remove(random.nextInt(array.size()));
+            }
+        }
+        if (depth > 0) {
+            for (JsonNode child : node) {
+                mutate(random, child, depth - 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+// @checkstyle ClassDataAbstractionCoupling (2 lines)
+final class JsonWriteBytesTest {
+
+    private static final String TEXT = "{ \"a\" : [1, 2.50], \"b\" : null }";
+
+    @Test
+    void writesBytesOfEveryJson() throws IOException {
+        File file = File.createTempFile("doc", "json");
+        file.deleteOnExit();
+        Files.write(file.toPath(), TEXT.getBytes());
+        CachedJson parsed = new CachedJson(new Json.Of(TEXT));
+        new SmartJson(parsed).leafAsInt("/a/0");
+        SmartJson smart = new SmartJson(new Json.Of(TEXT));
+        smart.leafAsInt("/a/0");
+        List<Json> jsons = Arrays.asList(
+            new Json.Of(TEXT),
+            new Json.Of(TEXT.getBytes()),
+            new Json.Of(new Tree(new Json.Of(TEXT)).value()),
+            new Json.Of(file.toPath()),
+            new MissingJson(),
+            new EmptyJson(),
+            new CachedJson(new Json.Of(TEXT)),
+            parsed,
+            smart,
+            new SmartJson(new MissingJson()),
+            new SmartJson(new Json.Of(TEXT)).at("/a"),
+            new SmartJson(new Json.Of(TEXT)).at("/c"),
+            new MutableJson(new Json.Of(TEXT)),
+            new BinaryJson(
+                new SmileFactory(), smart.byteArray(new SmileFactory())
+            ),
+            new BinaryJson(new SmileFactory(), new byte[0]),
+            new JsonPatch(new Json.Of(TEXT), new Json.Of("{\"a\": 1}")),
+            new StreamingJson(new Json.Of(TEXT)).at("/a"),
+            new CanonicalJson(new Json.Of(TEXT)),
+            new OffHeapArena().store(new Json.Of(TEXT))
+        );
+        for (Json json : jsons) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            json.writeTo(out);
+            assertArrayEquals(
+                new ByteArray(json).value(), out.toByteArray(), json.toString()
+            );
+        }
+    }
+
+    @Test
+    void writesNothingForMissingJsons() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new MissingJson().writeTo(out);
+        new SmartJson(new MissingJson()).writeTo(out);
+        new SmartJson(new Json.Of("{}")).at("/a").writeTo(out);
+        assertEquals(0, out.size());
+    }
+}
@@ -0,0 +1,80 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+final class JsonWriteTest {
+
+    @Test
+    void copiesBytesOfAnyJson() {
+        String text = "{ \"nereid\" : \"Thetis\" }";
+        Json json = () -> new ByteArrayInputStream(
+            text.getBytes(StandardCharsets.UTF_8)
+        );
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        json.writeTo(out);
+        assertEquals(text, written(out));
+    }
+
+    @Test
+    void generatesHeldTree() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new Json.Of(
+            JsonNodeFactory.instance.objectNode().put("age", 10)
+        ).writeTo(out);
+        assertEquals("{\"age\":10}", written(out));
+    }
+
+    @Test
+    void writesToChannel() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new Json.Of("[1, 2]").writeTo(Channels.newChannel(out));
+        assertEquals("[1, 2]", written(out));
+    }
+
+    @Test
+    void writesMutableJsonBeforeAndAfterSerializing() {
+        MutableJson json = new MutableJson().with("name", "Thetis");
+        ByteArrayOutputStream generated = new ByteArrayOutputStream();
+        json.writeTo(generated);
+        assertEquals("{\"name\":\"Thetis\"}", written(generated));
+        json.toString();
+        ByteArrayOutputStream cached = new ByteArrayOutputStream();
+        json.writeTo(cached);
+        assertEquals("{\"name\":\"Thetis\"}", written(cached));
+        json.with("age", 10);
+        ByteArrayOutputStream changed = new ByteArrayOutputStream();
+        json.writeTo(changed);
+        assertEquals("{\"name\":\"Thetis\",\"age\":10}", written(changed));
+    }
+
+    @Test
+    void reportsFailuresOfSerializedMutableJson() {
+        MutableJson json = new MutableJson().with("a", 1);
+        json.toString();
+        assertThrows(
+            UncheckedIOException.class,
+            () -> json.writeTo(new FailingStream())
+        );
+    }
+
+    private static String written(ByteArrayOutputStream out) {
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static final class FailingStream extends OutputStream {
+        @Override
+        public void write(int value) throws IOException {
+            throw new IOException("Failed");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Test;
+
+final class MappedJsonTest {
+
+    private final Path deep;
+
+    MappedJsonTest() throws URISyntaxException {
+        this.deep = Paths.get(
+            MappedJsonTest.class.getClassLoader()
+                .getResource("deep.json").toURI()
+        );
+    }
+
+    @Test
+    void readsFile() throws IOException {
+        assertArrayEquals(
+            Files.readAllBytes(deep),
+            new ByteArray(new MappedJson(deep)).value()
+        );
+    }
+
+    @Test
+    void readsFileMappedInManyRegions() throws IOException {
+        assertArrayEquals(
+            Files.readAllBytes(deep),
+            new ByteArray(new MappedJson(deep, 7)).value()
+        );
+    }
+
+    @Test
+    void parsesFileMappedInManyRegions() {
+        assertEquals(
+            "Thetis",
+            new SmartJson(new MappedJson(deep, 16))
+                .leaf("/ocean/rock1/nereid1/associates/1/name")
+        );
+    }
+
+    @Test
+    void readsEmptyFile() throws IOException {
+        File file = File.createTempFile("empty", "json");
+        file.deleteOnExit();
+        assertEquals(
+            0,
+            new ByteArray(new MappedJson(file.toPath())).value().length
+        );
+    }
+
+    @Test
+    void showsChangesWrittenInPlace() throws IOException {
+        File file = File.createTempFile("mapped", "json");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "[1]".getBytes());
+        Json json = new MappedJson(file.toPath());
+        assertEquals(1, new SmartJson(json).leafAsInt("/0"));
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.seek(1);
+            raw.write('2');
+        }
+        assertArrayEquals("[2]".getBytes(), new ByteArray(json).value());
+    }
+}
@@ -1,11 +1,14 @@
 package com.vzurauskas.nereides.jackson;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.net.URISyntaxException;
 import java.nio.file.Paths;
 import org.junit.jupiter.api.Test;
 
+// @checkstyle ClassDataAbstractionCoupling (2 lines)
 final class MutableJsonTest {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
@@ -104,4 +107,124 @@ final class MutableJsonTest {
             new MutableJson().toString()
         );
     }
+
+    @Test
+    void givesSameBytesWhenReadRepeatedly() {
+        MutableJson json = new MutableJson()
+            .with("field1", "value1")
+            .with("field2", 2);
+        assertEquals(json.toString(), json.toString());
+        assertArrayEquals(
+            new ByteArray(json).value(),
+            new ByteArray(json).value()
+        );
+    }
+
+    @Test
+    void givesNewBytesAfterEveryChange() {
+        MutableJson json = new MutableJson().with("a", "x");
+        assertEquals("{\"a\":\"x\"}", json.toString());
+        json.with("b", 1);
+        assertEquals("{\"a\":\"x\",\"b\":1}", json.toString());
+        json.with("c", true);
+        assertEquals(
+            "{\"a\":\"x\",\"b\":1,\"c\":true}",
+            new String(new ByteArray(json).value())
+        );
+        json.with("d", 1.5).with("e", new EmptyJson());
+        assertEquals(
+            "{\"a\":\"x\",\"b\":1,\"c\":true,\"d\":1.5,\"e\":{}}",
+            json.toString()
+        );
+    }
+
+    @Test
+    void takesTreesOfNestedJsonsWithoutReadingThem() {
+        CountingJson origin = new CountingJson(
+            new Json.Of("{\"hair\":\"black\",\"age\":100}")
+        );
+        SmartJson nereid = new SmartJson(origin);
+        nereid.leaf("hair");
+        MutableJson ocean = new MutableJson().with(
+            "rock",
+            new MutableJson().with(
+                "cave",
+                new MutableJson().with("nereid", nereid)
+            )
+        );
+        assertEquals(
+            100,
+            new SmartJson(
+                new MutableJson(ocean)
+            ).leafAsInt("/rock/cave/nereid/age")
+        );
+        assertEquals(1, origin.reads());
+    }
+
+    @Test
+    void copiesAddedJson() {
+        MutableJson nested = new MutableJson().with("hair", "black");
+        MutableJson json = new MutableJson().with("nereid", nested);
+        nested.with("hair", "red");
+        assertEquals("{\"nereid\":{\"hair\":\"black\"}}", json.toString());
+    }
+
+    @Test
+    void isNotChangedThroughSmartJson() {
+        MutableJson json = new MutableJson().with("hair", "black");
+        new SmartJson(json).objectNode().put("hair", "red");
+        assertEquals("{\"hair\":\"black\"}", json.toString());
+    }
+
+    @Test
+    void doesNotChangeItsBase() {
+        SmartJson base = new SmartJson(new Json.Of("{\"hair\":\"black\"}"));
+        new MutableJson(base).with("hair", "red");
+        assertEquals("black", base.leaf("hair"));
+    }
+
+    @Test
+    void addsMissingJsonAsNull() {
+        assertEquals(
+            "{\"nereid\":null,\"array\":[1,2]}",
+            new MutableJson()
+                .with("nereid", new MissingJson())
+                .with("array", new Json.Of("[1,2]"))
+                .toString()
+        );
+    }
+
+    @Test
+    void equalsJsonOfSameStructure() {
+        MutableJson json = new MutableJson().with("a", 1).with("b", "x");
+        MutableJson other = new MutableJson().with("b", "x").with("a", 1.0);
+        assertEquals(json, json);
+        assertEquals(json, other);
+        assertEquals(json.hashCode(), other.hashCode());
+        assertNotEquals(json, other.with("c", true));
+        assertNotEquals(json, new SmartJson(json));
+    }
+
+    @Test
+    void recomputesHashOnlyAfterChange() {
+        MutableJson json = new MutableJson().with("a", 1);
+        int hash = json.hashCode();
+        assertEquals(hash, json.hashCode());
+        json.with("b", 2);
+        assertNotEquals(hash, json.hashCode());
+        assertEquals(
+            new MutableJson().with("b", 2).with("a", 1).hashCode(),
+            json.hashCode()
+        );
+        json.patch(new Json.Of("[{\"op\":\"remove\",\"path\":\"/b\"}]"));
+        assertEquals(hash, json.hashCode());
+    }
+
+    @Test
+    void comparesStructuresOfSameHash() {
+        MutableJson json = new MutableJson().with("a", 42_351);
+        MutableJson other = new MutableJson().with("a", 62_656);
+        assertEquals(json.hashCode(), other.hashCode());
+        assertNotEquals(json, other);
+    }
 }
@@ -0,0 +1,277 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+// @checkstyle ClassDataAbstractionCoupling (2 lines)
+final class OffHeapArenaTest {
+
+    @Test
+    void storesJson() {
+        try (OffHeapArena arena = new OffHeapArena()) {
+            OffHeapJson stored = arena.store(
+                new Json.Of("{\"name\": \"nereides\", \"id\": 7}")
+            );
+            SmartJson json = new SmartJson(stored);
+            assertEquals("nereides", json.leaf("name"));
+            assertEquals(7, json.leafAsInt("id"));
+            assertEquals(
+                "{\"name\":\"nereides\",\"id\":7}",
+                new SmartJson(stored).textual()
+            );
+        }
+    }
+
+    @Test
+    void plugsIntoMutableJson() {
+        try (OffHeapArena arena = new OffHeapArena()) {
+            OffHeapJson stored = arena.store(
+                new MutableJson().with("id", 7)
+            );
+            assertEquals(
+                "{\"doc\":{\"id\":7}}",
+                new SmartJson(new MutableJson().with("doc", stored)).textual()
+            );
+        }
+    }
+
+    @Test
+    void readsConcurrently() {
+        try (OffHeapArena arena = new OffHeapArena(1024)) {
+            OffHeapJson stored = arena.store(document(900));
+            assertEquals(
+                1000,
+                IntStream.range(0, 1000).parallel()
+                    .filter(idx -> new SmartJson(stored).leaf("text")
+                        .length() == 900 - "{\"text\":\"\"}".length())
+                    .count()
+            );
+        }
+    }
+
+    @Test
+    void packsDocumentsIntoSlab() {
+        try (OffHeapArena arena = new OffHeapArena(1000)) {
+            for (int idx = 0; idx < 10; ++idx) {
+                arena.store(document(100));
+            }
+            assertEquals(1000, arena.allocated());
+            assertEquals(1000, arena.used());
+            arena.store(document(100));
+            assertEquals(2000, arena.allocated());
+            assertEquals(1100, arena.used());
+        }
+    }
+
+    @Test
+    void startsNextSlabForDocumentWhichDoesNotFit() {
+        try (OffHeapArena arena = new OffHeapArena(20_000)) {
+            OffHeapJson first = arena.store(document(5000));
+            OffHeapJson second = arena.store(document(18_000));
+            assertEquals(40_000, arena.allocated());
+            assertArrayEquals(bytes(5000), new ByteArray(first).value());
+            assertArrayEquals(bytes(18_000), new ByteArray(second).value());
+        }
+    }
+
+    @Test
+    void storesDocumentLargerThanSlab() {
+        try (OffHeapArena arena = new OffHeapArena(10_000)) {
+            OffHeapJson large = arena.store(document(30_000));
+            assertEquals(30_000, large.size());
+            assertArrayEquals(bytes(30_000), new ByteArray(large).value());
+            assertEquals(60_000, arena.allocated());
+            OffHeapJson small = arena.store(document(5000));
+            assertArrayEquals(bytes(5000), new ByteArray(small).value());
+            assertEquals(60_000, arena.allocated());
+            OffHeapJson larger = arena.store(document(35_000));
+            assertEquals(60_000 + 70_000, arena.allocated());
+            large.release();
+            small.release();
+            assertEquals(70_000, arena.allocated());
+            assertEquals(35_000, arena.used());
+            assertThrows(IllegalStateException.class, large::bytes);
+            assertArrayEquals(bytes(35_000), new ByteArray(larger).value());
+        }
+    }
+
+    @Test
+    void retiresEmptySlabWhichDocumentDoesNotFit() {
+        try (OffHeapArena arena = new OffHeapArena(1000)) {
+            arena.store(document(100)).release();
+            OffHeapJson large = arena.store(document(1500));
+            assertEquals(1000 + 3000, arena.allocated());
+            OffHeapJson small = arena.store(document(1600));
+            assertEquals(1000 + 3000 + 3200, arena.allocated());
+            large.release();
+            assertEquals(1000 + 3200, arena.allocated());
+            assertArrayEquals(bytes(1600), new ByteArray(small).value());
+        }
+    }
+
+    @Test
+    void failsStreamWhoseSlabIsReused() throws IOException {
+        try (OffHeapArena arena = new OffHeapArena(1000)) {
+            OffHeapJson first = arena.store(document(600));
+            InputStream stream = first.bytes();
+            assertEquals('{', stream.read());
+            first.release();
+            arena.store(document(600));
+            assertThrows(IllegalStateException.class, stream::read);
+            assertThrows(
+                IllegalStateException.class,
+                () -> stream.read(new byte[10], 0, 10)
+            );
+        }
+    }
+
+    @Test
+    void readsStreamOfReleasedJsonUntilSlabIsReused() throws IOException {
+        try (OffHeapArena arena = new OffHeapArena(1000)) {
+            OffHeapJson first = arena.store(document(100));
+            arena.store(document(100));
+            InputStream stream = first.bytes();
+            first.release();
+            assertEquals(100, stream.available());
+            assertArrayEquals(bytes(100), new ByteArray(stream).value());
+        }
+    }
+
+    @Test
+    void storesWhileAnotherDocumentIsBeingRead() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch stored = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try (OffHeapArena arena = new OffHeapArena(1000)) {
+            Future<OffHeapJson> slow = pool.submit(
+                () -> arena.store(
+                    () -> new SequenceInputStream(
+                        new ByteArrayInputStream("[1,".getBytes()),
+                        new Blocking(reading, stored)
+                    )
+                )
+            );
+            reading.await();
+            OffHeapJson fast = arena.store(document(100));
+            stored.countDown();
+            assertArrayEquals(bytes(100), new ByteArray(fast).value());
+            assertEquals(
+                "[1,2]", new String(new ByteArray(slow.get()).value())
+            );
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void reusesReleasedSlabs() {
+        try (OffHeapArena arena = new OffHeapArena(1000)) {
+            OffHeapJson first = arena.store(document(600));
+            OffHeapJson second = arena.store(document(600));
+            first.release();
+            OffHeapJson third = arena.store(document(600));
+            assertEquals(2000, arena.allocated());
+            assertEquals(1200, arena.used());
+            assertThrows(IllegalStateException.class, first::bytes);
+            assertArrayEquals(bytes(600), new ByteArray(second).value());
+            assertArrayEquals(bytes(600), new ByteArray(third).value());
+        }
+    }
+
+    @Test
+    void reusesCurrentSlab() {
+        try (OffHeapArena arena = new OffHeapArena(1000)) {
+            OffHeapJson first = arena.store(document(300));
+            OffHeapJson second = arena.store(document(300));
+            first.release();
+            assertEquals(300, arena.used());
+            second.release();
+            assertEquals(0, arena.used());
+            for (int idx = 0; idx < 3; ++idx) {
+                arena.store(document(300));
+            }
+            assertEquals(1000, arena.allocated());
+        }
+    }
+
+    @Test
+    void releasesOnlyOnce() {
+        try (OffHeapArena arena = new OffHeapArena(1000)) {
+            OffHeapJson first = arena.store(document(100));
+            arena.store(document(100));
+            first.release();
+            first.release();
+            assertEquals(100, arena.used());
+        }
+    }
+
+    @Test
+    void releasesEverythingOnClose() {
+        OffHeapArena arena = new OffHeapArena(1000);
+        OffHeapJson stored = arena.store(document(100));
+        arena.close();
+        assertEquals(0, arena.allocated());
+        assertEquals(0, arena.used());
+        assertThrows(IllegalStateException.class, stored::bytes);
+        stored.release();
+        assertEquals(0, arena.used());
+        assertThrows(
+            IllegalStateException.class, () -> arena.store(document(100))
+        );
+    }
+
+    private static Json document(int size) {
+        return new Json.Of(bytes(size));
+    }
+
+    private static byte[] bytes(int size) {
+        char[] text = new char[size - "{\"text\":\"\"}".length()];
+        Arrays.fill(text, 'x');
+        return ("{\"text\":\"" + new String(text) + "\"}")
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Stream of "2]", which waits before giving its first byte.
+     */
+    private static final class Blocking extends InputStream {
+
+        private final CountDownLatch reading;
+        private final CountDownLatch resume;
+        private final InputStream rest;
+
+        Blocking(CountDownLatch reading, CountDownLatch resume) {
+            super();
+            this.reading = reading;
+            this.resume = resume;
+            this.rest = new ByteArrayInputStream("2]".getBytes());
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (reading.getCount() > 0) {
+                reading.countDown();
+                new Unchecked<>(
+                    () -> {
+                        resume.await();
+                        return true;
+                    }
+                ).value();
+            }
+            return rest.read();
+        }
+    }
+}
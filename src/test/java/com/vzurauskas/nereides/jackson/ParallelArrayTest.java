@@ -0,0 +1,127 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+final class ParallelArrayTest {
+
+    private static final int SIZE = 10_000;
+
+    @Test
+    void parsesElementsInOrder() {
+        assertEquals(
+            IntStream.range(0, SIZE).boxed().collect(Collectors.toList()),
+            new ParallelArray(records(), "/records").stream()
+                .map(record -> record.leafAsInt("id"))
+                .collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    void parsesElementsUnordered() {
+        assertEquals(
+            (long) SIZE * (SIZE - 1) / 2,
+            new ParallelArray(records(), "records").stream().unordered()
+                .mapToLong(record -> record.leafAsInt("id"))
+                .sum()
+        );
+    }
+
+    @Test
+    void parsesOnGivenPool() throws InterruptedException, ExecutionException {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertEquals(
+                SIZE,
+                (long) pool.submit(
+                    () -> new ParallelArray(records(), "/records").stream()
+                        .filter(record -> record.at("/tags").elements()
+                            .count() == 2)
+                        .count()
+                ).get()
+            );
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void splitsIntoChunks() {
+        Spliterator<SmartJson> elements = new ParallelArray(
+            new Json.Of("[1, 2, 3]")
+        ).stream().spliterator();
+        Spliterator<SmartJson> prefix = elements.trySplit();
+        assertEquals(1, prefix.estimateSize());
+        assertEquals(2, elements.estimateSize());
+        assertNull(prefix.trySplit());
+    }
+
+    @Test
+    void parsesRootArray() {
+        List<String> values = new ParallelArray(
+            new Json.Of("[\"a\", {\"b\": \"],\"}, [1], null]")
+        ).stream().map(SmartJson::textual).collect(Collectors.toList());
+        assertEquals(
+            Arrays.asList("\"a\"", "{\"b\":\"],\"}", "[1]", "null"), values
+        );
+    }
+
+    @Test
+    void givesNothingIfThereIsNoArray() {
+        assertEquals(
+            0, new ParallelArray(records(), "/nothing").stream().count()
+        );
+        assertEquals(
+            0, new ParallelArray(new Json.Of("{\"a\":1}"), "a").stream().count()
+        );
+        assertEquals(0, new ParallelArray(new Json.Of("[]")).stream().count());
+    }
+
+    @Test
+    void failsOnMalformedElement() {
+        assertThrows(
+            UncheckedIOException.class,
+            () -> new ParallelArray(new Json.Of("[1, {\"a\" 1}, 3]")).stream()
+                .collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    void failsOnElementsWithoutCommaBetweenThem() {
+        List<String> arrays = Arrays.asList(
+            "[1 2]", "[{\"a\": 1} {\"b\": 2}, 3]", "[\"a\" \"b\"]", "[[1] 2]"
+        );
+        for (String array : arrays) {
+            assertThrows(
+                UncheckedIOException.class,
+                () -> new ParallelArray(new Json.Of(array)).stream()
+                    .collect(Collectors.toList()),
+                array
+            );
+        }
+    }
+
+    private static Json records() {
+        return new Json.Of(
+            IntStream.range(0, SIZE)
+                .mapToObj(
+                    idx -> String.format(
+                        "{\"id\":%d,\"name\":\"Nereid, %d\","
+                            + "\"tags\":[\"a\",{}]}",
+                        idx, idx
+                    )
+                )
+                .collect(Collectors.joining(",", "{\"records\":[", "]}"))
+        );
+    }
+}
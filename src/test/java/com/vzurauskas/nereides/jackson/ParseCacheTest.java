@@ -0,0 +1,111 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+final class ParseCacheTest {
+
+    @Test
+    void sharesTreeOfSameBytes() {
+        ParseCache cache = new ParseCache(16);
+        SmartJson first = cache.parse(new Json.Of("{\"id\": 1}"));
+        SmartJson second = cache.parse(new Json.Of("{\"id\": 1}"));
+        assertEquals(1, second.leafAsInt("id"));
+        assertSame(first.node(), second.node());
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void parsesOtherBytesSeparately() {
+        ParseCache cache = new ParseCache(16);
+        SmartJson first = cache.parse(new Json.Of("{\"id\": 1}"));
+        SmartJson second = cache.parse(new Json.Of("{\"id\":1}"));
+        assertNotSame(first.node(), second.node());
+        assertEquals(0, cache.hits());
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    void readsBytesOnEachCall() {
+        ParseCache cache = new ParseCache(16);
+        CountingJson json = new CountingJson(new Json.Of("{\"id\": 1}"));
+        cache.parse(json).leafAsInt("id");
+        cache.parse(json).leafAsInt("id");
+        assertEquals(2, json.reads());
+        assertEquals(1, cache.hits());
+    }
+
+    @Test
+    void bypassesParsedJsons() {
+        ParseCache cache = new ParseCache(16);
+        SmartJson smart = new SmartJson(new Json.Of("{\"id\": 1}"));
+        smart.leafAsInt("id");
+        assertEquals(1, cache.parse(smart).leafAsInt("id"));
+        assertEquals(
+            2, cache.parse(new MutableJson().with("id", 2)).leafAsInt("id")
+        );
+        assertEquals(0, cache.misses());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void cachesUnparsedSmartJsons() {
+        ParseCache cache = new ParseCache(16);
+        cache.parse(new SmartJson(new Json.Of("{\"id\": 1}")));
+        cache.parse(new SmartJson(new Json.Of("{\"id\": 1}")));
+        assertEquals(1, cache.hits());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        ParseCache cache = new ParseCache(2);
+        cache.parse(new Json.Of("[1]"));
+        cache.parse(new Json.Of("[2]"));
+        cache.parse(new Json.Of("[1]"));
+        cache.parse(new Json.Of("[3]"));
+        assertEquals(1, cache.evictions());
+        cache.parse(new Json.Of("[1]"));
+        assertEquals(2, cache.hits());
+        cache.parse(new Json.Of("[2]"));
+        assertEquals(2, cache.hits());
+        assertEquals(4, cache.misses());
+        assertEquals(2, cache.evictions());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void evictsByWeight() {
+        ParseCache cache = new ParseCache(16, 10);
+        cache.parse(new Json.Of("[1,2]"));
+        cache.parse(new Json.Of("[3,4]"));
+        assertEquals(10, cache.weight());
+        cache.parse(new Json.Of("[5]"));
+        assertEquals(8, cache.weight());
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictions());
+        cache.parse(new Json.Of("[6,7,8,9,10]"));
+        assertEquals(0, cache.weight());
+        assertEquals(0, cache.size());
+        assertEquals(4, cache.evictions());
+    }
+
+    @Test
+    void parsesConcurrently() {
+        ParseCache cache = new ParseCache(16);
+        assertEquals(
+            1,
+            IntStream.range(0, 1000).parallel()
+                .mapToObj(idx -> cache.parse(new Json.Of("{\"id\": 1}")))
+                .map(SmartJson::objectNode)
+                .distinct()
+                .count()
+        );
+        assertEquals(999, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+}
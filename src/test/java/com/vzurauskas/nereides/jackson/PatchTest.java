@@ -0,0 +1,183 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+final class PatchTest {
+
+    private static final String DOC =
+        "{\"a\":{\"b\":1},\"c\":[1,2,3],\"d\":\"x\"}";
+
+    @Test
+    void addsNodes() {
+        assertPatched(
+            "[{\"op\":\"add\",\"path\":\"/a/e\",\"value\":{\"f\":2}},"
+                + "{\"op\":\"add\",\"path\":\"/c/1\",\"value\":9},"
+                + "{\"op\":\"add\",\"path\":\"/c/-\",\"value\":4},"
+                + "{\"op\":\"add\",\"path\":\"/d\",\"value\":null}]",
+            "{\"a\":{\"b\":1,\"e\":{\"f\":2}},\"c\":[1,9,2,3,4],\"d\":null}"
+        );
+    }
+
+    @Test
+    void removesNodes() {
+        assertPatched(
+            "[{\"op\":\"remove\",\"path\":\"/a/b\"},"
+                + "{\"op\":\"remove\",\"path\":\"/c/0\"}]",
+            "{\"a\":{},\"c\":[2,3],\"d\":\"x\"}"
+        );
+    }
+
+    @Test
+    void replacesNodes() {
+        assertPatched(
+            "[{\"op\":\"replace\",\"path\":\"/a/b\",\"value\":[5]},"
+                + "{\"op\":\"replace\",\"path\":\"/c/1\",\"value\":7}]",
+            "{\"a\":{\"b\":[5]},\"c\":[1,7,3],\"d\":\"x\"}"
+        );
+    }
+
+    @Test
+    void keepsPlacesOfReplacedNodes() {
+        assertPatched(
+            "[{\"op\":\"replace\",\"path\":\"/a\",\"value\":0},"
+                + "{\"op\":\"replace\",\"path\":\"/c/0\",\"value\":4}]",
+            "{\"a\":0,\"c\":[4,2,3],\"d\":\"x\"}"
+        );
+    }
+
+    @Test
+    void replacesRoot() {
+        assertPatched(
+            "[{\"op\":\"replace\",\"path\":\"\",\"value\":{\"z\":1}},"
+                + "{\"op\":\"add\",\"path\":\"\",\"value\":{\"y\":2}}]",
+            "{\"y\":2}"
+        );
+    }
+
+    @Test
+    void movesAndCopiesNodes() {
+        assertPatched(
+            "[{\"op\":\"move\",\"from\":\"/a/b\",\"path\":\"/c/0\"},"
+                + "{\"op\":\"copy\",\"from\":\"/c\",\"path\":\"/a/c\"},"
+                + "{\"op\":\"move\",\"from\":\"/d\",\"path\":\"/d\"}]",
+            "{\"a\":{\"c\":[1,1,2,3]},\"c\":[1,1,2,3],\"d\":\"x\"}"
+        );
+    }
+
+    @Test
+    void testsNodes() {
+        assertPatched(
+            "[{\"op\":\"test\",\"path\":\"/a\",\"value\":{\"b\":1.0}},"
+                + "{\"op\":\"test\",\"path\":\"/d\",\"value\":\"x\"}]",
+            DOC
+        );
+    }
+
+    @Test
+    void copiesValuesOfPatch() {
+        MutableJson json = new MutableJson(new Json.Of(DOC));
+        SmartJson patch = new SmartJson(
+            new Json.Of("[{\"op\":\"add\",\"path\":\"/e\",\"value\":[1]}]")
+        );
+        json.patch(patch).patch(
+            new Json.Of("[{\"op\":\"add\",\"path\":\"/e/-\",\"value\":2}]")
+        );
+        assertEquals(
+            "[{\"op\":\"add\",\"path\":\"/e\",\"value\":[1]}]",
+            patch.toString()
+        );
+        assertEquals("[1,2]", new SmartJson(json).at("/e").toString());
+    }
+
+    @Test
+    void rejectsInapplicablePatches() {
+        List<String> patches = Arrays.asList(
+            "{\"op\":\"add\",\"path\":\"/a\",\"value\":1}",
+            "[{\"op\":\"add\",\"path\":\"\",\"value\":[1]}]",
+            "[{\"op\":\"add\",\"path\":\"/x/y\",\"value\":1}]",
+            "[{\"op\":\"add\",\"path\":\"/d/y\",\"value\":1}]",
+            "[{\"op\":\"add\",\"path\":\"/c/4\",\"value\":1}]",
+            "[{\"op\":\"add\",\"path\":\"/c/x\",\"value\":1}]",
+            "[{\"op\":\"add\",\"path\":\"/a\"}]",
+            "[{\"op\":\"remove\",\"path\":\"\"}]",
+            "[{\"op\":\"remove\",\"path\":\"/a/x\"}]",
+            "[{\"op\":\"remove\",\"path\":\"/c/3\"}]",
+            "[{\"op\":\"remove\",\"path\":\"/d/0\"}]",
+            "[{\"op\":\"replace\",\"path\":\"/x\",\"value\":1}]",
+            "[{\"op\":\"move\",\"from\":\"/a\",\"path\":\"/a/b\"}]",
+            "[{\"op\":\"copy\",\"from\":\"/x\",\"path\":\"/y\"}]",
+            "[{\"op\":\"test\",\"path\":\"/d\",\"value\":\"y\"}]",
+            "[{\"op\":\"test\",\"path\":\"/x\",\"value\":null}]",
+            "[{\"op\":\"swap\",\"path\":\"/a\"}]",
+            "[{\"op\":\"add\",\"value\":1}]",
+            "[{\"op\":\"add\",\"path\":1,\"value\":1}]",
+            "[{\"op\":\"move\",\"path\":\"/a\"}]",
+            "[{\"op\":\"add\",\"path\":\"a\",\"value\":1}]"
+        );
+        for (String patch : patches) {
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> new MutableJson(new Json.Of(DOC))
+                    .patch(new Json.Of(patch)),
+                patch
+            );
+        }
+    }
+
+    @Test
+    void leavesJsonUnchangedWhenLastOperationFails() {
+        MutableJson json = new MutableJson(new Json.Of(DOC));
+        assertEquals(DOC, json.toString());
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> json.patch(
+                new Json.Of(
+                    "[{\"op\":\"add\",\"path\":\"/a/e\",\"value\":{\"f\":2}},"
+                        + "{\"op\":\"add\",\"path\":\"/d\",\"value\":\"y\"},"
+                        + "{\"op\":\"add\",\"path\":\"/c/-\",\"value\":4},"
+                        + "{\"op\":\"add\",\"path\":\"/c/1\",\"value\":9},"
+                        + "{\"op\":\"replace\",\"path\":\"/a/b\",\"value\":5},"
+                        + "{\"op\":\"replace\",\"path\":\"/c/0\",\"value\":7},"
+                        + "{\"op\":\"remove\",\"path\":\"/a/b\"},"
+                        + "{\"op\":\"remove\",\"path\":\"/c/2\"},"
+                        + "{\"op\":\"move\",\"from\":\"/d\",\"path\":\"/g\"},"
+                        + "{\"op\":\"copy\",\"from\":\"/c\",\"path\":\"/h\"},"
+                        + "{\"op\":\"add\",\"path\":\"\",\"value\":{\"z\":1}},"
+                        + "{\"op\":\"add\",\"path\":\"/y\",\"value\":2},"
+                        + "{\"op\":\"test\",\"path\":\"/z\",\"value\":2}]"
+                )
+            )
+        );
+        assertEquals(DOC, json.node().toString());
+        assertEquals(DOC, json.toString());
+        assertEquals(new MutableJson(new Json.Of(DOC)), json);
+    }
+
+    @Test
+    void undoesRemovalOfFieldInItsPlace() {
+        MutableJson json = new MutableJson(new Json.Of(DOC));
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> json.patch(
+                new Json.Of(
+                    "[{\"op\":\"remove\",\"path\":\"/c\"},"
+                        + "{\"op\":\"remove\",\"path\":\"/c\"}]"
+                )
+            )
+        );
+        assertEquals(DOC, json.node().toString());
+    }
+
+    private static void assertPatched(String patch, String expected) {
+        assertEquals(
+            expected,
+            new MutableJson(new Json.Of(DOC))
+                .patch(new Json.Of(patch))
+                .toString()
+        );
+    }
+}
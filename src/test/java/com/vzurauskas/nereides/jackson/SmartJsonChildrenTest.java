@@ -0,0 +1,173 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+final class SmartJsonChildrenTest {
+
+    private static final String TEXT =
+        "{\"ocean\":\"Aegean\",\"items\":[{\"name\":\"Thetis\"},"
+            + "{\"name\":\"Galatea\",\"sisters\":[1,2]},{\"name\":\"Doris\"}],"
+            + "\"home\":{\"rock\":\"Rock 1\",\"depth\":1500}}";
+
+    @Test
+    void streamsElements() {
+        assertEquals(
+            Arrays.asList("Thetis", "Galatea", "Doris"),
+            names(new SmartJson(new Json.Of(TEXT)).elements("/items"))
+        );
+    }
+
+    @Test
+    void takesElementsFromParsedTree() {
+        SmartJson json = new SmartJson(new Json.Of(TEXT));
+        json.leaf("ocean");
+        assertEquals(
+            Arrays.asList("Thetis", "Galatea", "Doris"),
+            names(json.elements("items"))
+        );
+        assertEquals(
+            Arrays.asList("Thetis", "Galatea", "Doris"),
+            names(json.at("/items").elements())
+        );
+    }
+
+    @Test
+    void streamsElementsOfRootArray() {
+        assertEquals(
+            Arrays.asList(1, 2, 3),
+            new SmartJson(new Json.Of("[1, 2, 3]")).elements()
+                .map(element -> element.node().asInt())
+                .collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    void givesNoElementsOfMissingArray() {
+        SmartJson json = new SmartJson(new Json.Of(TEXT));
+        assertEquals(0, json.elements("/nothing").count());
+        assertEquals(0, json.elements("/home").count());
+        assertEquals(0, new SmartJson(new Json.Of("[]")).elements().count());
+        json.leaf("ocean");
+        assertEquals(0, json.elements("/nothing").count());
+        assertEquals(0, json.elements("/home").count());
+    }
+
+    @Test
+    void streamsFields() {
+        Map<String, SmartJson> fields = new SmartJson(new Json.Of(TEXT))
+            .fields("/home")
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        assertEquals(2, fields.size());
+        assertEquals("\"Rock 1\"", fields.get("rock").textual());
+        assertEquals(1500, fields.get("depth").node().asInt());
+    }
+
+    @Test
+    void streamsFieldsOfRootObject() {
+        assertEquals(
+            Arrays.asList("ocean", "items", "home"),
+            new SmartJson(new Json.Of(TEXT)).fields()
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    void takesFieldsFromParsedTree() {
+        SmartJson json = new SmartJson(new MutableJson().with("a", 1));
+        json.leafAsInt("a");
+        assertEquals(
+            Collections.singletonList("a"),
+            json.fields().map(Map.Entry::getKey).collect(Collectors.toList())
+        );
+        assertEquals(0, json.fields("/a").count());
+    }
+
+    @Test
+    void givesNoFieldsOfMissingObject() {
+        SmartJson json = new SmartJson(new Json.Of(TEXT));
+        assertEquals(0, json.fields("/items").count());
+        assertEquals(0, json.fields("/nothing").count());
+    }
+
+    @Test
+    void readsNothingUntilConsumed() {
+        CountingJson counting = new CountingJson(new Json.Of(TEXT));
+        Stream<SmartJson> elements = new SmartJson(counting).elements("items");
+        assertEquals(0, counting.reads());
+        elements.close();
+        assertEquals(0, counting.reads());
+    }
+
+    @Test
+    void readsElementsOneAtTime() {
+        assertEquals(
+            "Thetis",
+            new SmartJson(new Json.Of("{\"items\":[{\"name\":\"Thetis\"},{"))
+                .elements("items").findFirst().get().leaf("name")
+        );
+        assertThrows(
+            UncheckedIOException.class,
+            () -> new SmartJson(new Json.Of("{\"items\":[1,{"))
+                .elements("items").count()
+        );
+    }
+
+    @Test
+    void closesInput() {
+        ClosingStream consumed = new ClosingStream(TEXT);
+        new SmartJson(() -> consumed).elements("items").count();
+        assertTrue(consumed.closed);
+        ClosingStream abandoned = new ClosingStream(TEXT);
+        Stream<SmartJson> elements = new SmartJson(() -> abandoned)
+            .elements("items");
+        try (Stream<SmartJson> closed = elements) {
+            assertTrue(closed.findFirst().isPresent());
+            assertFalse(abandoned.closed);
+        }
+        assertTrue(abandoned.closed);
+    }
+
+    @Test
+    void closesInputWhenSeekingFails() {
+        ClosingStream malformed = new ClosingStream("{\"a\": ><");
+        assertThrows(
+            UncheckedIOException.class,
+            () -> new SmartJson(() -> malformed).elements("items").count()
+        );
+        assertTrue(malformed.closed);
+    }
+
+    private static List<String> names(Stream<SmartJson> elements) {
+        return elements.map(element -> element.leaf("name"))
+            .collect(Collectors.toList());
+    }
+
+    private static final class ClosingStream extends FilterInputStream {
+        private boolean closed;
+
+        ClosingStream(String text) {
+            super(new ByteArrayInputStream(text.getBytes()));
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
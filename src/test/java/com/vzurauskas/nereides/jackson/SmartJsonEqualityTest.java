@@ -0,0 +1,41 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+final class SmartJsonEqualityTest {
+
+    @Test
+    void equalsJsonOfSameStructure() {
+        SmartJson json = new SmartJson(new Json.Of("{\"a\": [1, {\"b\": 2}]}"));
+        SmartJson other = new SmartJson(
+            new MutableJson().with("a", new Json.Of("[1.0, {\"b\": 2}]"))
+        );
+        assertEquals(json, json);
+        assertEquals(json, other);
+        assertEquals(json.hashCode(), other.hashCode());
+        assertNotEquals(json, new SmartJson(new Json.Of("{\"a\": [1]}")));
+        assertNotEquals(json, new Json.Of("{\"a\": [1, {\"b\": 2}]}"));
+    }
+
+    @Test
+    void holdsDistinctStructuresInSet() {
+        SmartJson json = new SmartJson(new Json.Of("[1, 2]"));
+        Set<SmartJson> set = new HashSet<>();
+        set.add(json);
+        set.add(new SmartJson(new Json.Of("[1.0, 2.0]")));
+        set.add(new SmartJson(new Json.Of("[2, 1]")));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    void comparesStructuresOfSameHash() {
+        SmartJson json = new SmartJson(new Json.Of("[3479]"));
+        SmartJson other = new SmartJson(new Json.Of("[14188]"));
+        assertEquals(json.hashCode(), other.hashCode());
+        assertNotEquals(json, other);
+    }
+}
@@ -0,0 +1,67 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+final class SmartJsonPrimitiveLeafTest {
+
+    private static final SmartJson JSON = new SmartJson(
+        new Json.Of(
+            "{\"int\":14,\"long\":12345678901,\"double\":1.5,\"bool\":true,"
+                + "\"nested\":{\"int\":7,\"a/b\":3},\"array\":[1,2]}"
+        )
+    );
+
+    @Test
+    void findsIntLeaves() {
+        assertEquals(14, JSON.optIntLeaf("int").getAsInt());
+        assertEquals(7, JSON.optIntLeaf("/nested/int").getAsInt());
+        assertFalse(JSON.optIntLeaf("nothing").isPresent());
+        assertEquals(14, JSON.leafAsInt("int", -1));
+        assertEquals(2, JSON.leafAsInt("/array/1", -1));
+        assertEquals(-1, JSON.leafAsInt("/nested/nothing", -1));
+    }
+
+    @Test
+    void findsLongLeaves() {
+        assertEquals(12_345_678_901L, JSON.leafAsLong("long"));
+        assertEquals(12_345_678_901L, JSON.optLongLeaf("long").getAsLong());
+        assertFalse(JSON.optLongLeaf("/nothing").isPresent());
+        assertEquals(3L, JSON.leafAsLong("/nested/a~1b", 0L));
+        assertEquals(-1L, JSON.leafAsLong("nothing", -1L));
+        assertTrue(
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> JSON.leafAsLong("/nested/nothing")
+            ).getMessage().contains("/nested/nothing")
+        );
+    }
+
+    @Test
+    void findsDoubleLeaves() {
+        assertEquals(1.5, JSON.optDoubleLeaf("double").getAsDouble());
+        assertFalse(JSON.optDoubleLeaf("nothing").isPresent());
+        assertEquals(1.5, JSON.leafAsDouble("/double", 0.0));
+        assertEquals(2.5, JSON.leafAsDouble("nothing", 2.5));
+    }
+
+    @Test
+    void findsBoolLeaves() {
+        assertTrue(JSON.leafAsBool("bool", false));
+        assertTrue(JSON.leafAsBool("nothing", true));
+        assertFalse(JSON.leafAsBool("/nested/nothing", false));
+    }
+
+    @Test
+    void findsLeavesByManyPaths() {
+        for (int idx = 0; idx < 2000; ++idx) {
+            assertEquals(
+                idx, new SmartJson(new Json.Of("{\"" + idx + "\":" + idx + "}"))
+                    .leafAsInt("/" + idx, -1)
+            );
+        }
+    }
+}
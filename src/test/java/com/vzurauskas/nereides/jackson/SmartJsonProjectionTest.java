@@ -0,0 +1,154 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Test;
+
+final class SmartJsonProjectionTest {
+
+    private final Path deep;
+
+    SmartJsonProjectionTest() throws URISyntaxException {
+        this.deep = Paths.get(
+            SmartJsonProjectionTest.class.getClassLoader()
+                .getResource("deep.json").toURI()
+        );
+    }
+
+    @Test
+    void projectsLeavesOfAllTypes() {
+        Projection projected = new SmartJson(new Json.Of(deep)).project(
+            "/ocean/rock1/nereid1/hair",
+            "/ocean/rock1/nereid1/age",
+            "/ocean/rock1/nereid2/age",
+            "/ocean/rock2/nereid3/fair",
+            "/ocean/rock1/nereid1/associates/1/name",
+            "/ocean/rock2/nereid3/age"
+        );
+        assertEquals(6, projected.size());
+        assertEquals("black", projected.leaf(0));
+        assertEquals(100, projected.leafAsInt(1));
+        assertEquals(77.5, projected.leafAsDouble(2));
+        assertTrue(projected.leafAsBool(3));
+        assertEquals("Thetis", projected.leaf(4));
+        assertEquals(88L, projected.leafAsLong(5));
+    }
+
+    @Test
+    void projectsByNames() {
+        Projection projected = new SmartJson(
+            new Json.Of(
+                "{\"field1\":\"value1\",\"field2\":[1,2],"
+                    + "\"field3\":{\"a\":true}}"
+            )
+        ).project("field3", "field1");
+        assertEquals("{\"a\":true}", projected.json(0).textual());
+        assertEquals("value1", projected.leaf(1));
+    }
+
+    @Test
+    void projectsNodesWithinRequestedAncestor() {
+        Projection projected = new SmartJson(new Json.Of(deep)).project(
+            "/ocean/rock1/nereid1/associates/1/name",
+            "/ocean/rock1",
+            "/ocean/rock1/nereid1/age",
+            "/ocean/rock1/nereid1/age"
+        );
+        assertEquals("Thetis", projected.leaf(0));
+        assertEquals("red", projected.json(1).leaf("/nereid2/hair"));
+        assertEquals(100, projected.leafAsInt(2));
+        assertEquals(100, projected.leafAsInt(3));
+    }
+
+    @Test
+    void findsElementsOfArrays() {
+        Projection projected = new SmartJson(
+            new Json.Of("{\"array\":[{\"a\":1},2,{\"a\":3},{\"a\":4}]}")
+        ).project("/array/2/a", "/array/1/a", "/array/x", "/array/1");
+        assertEquals(3, projected.leafAsInt(0));
+        assertFalse(projected.has(1));
+        assertFalse(projected.has(2));
+        assertEquals(2, projected.leafAsInt(3));
+    }
+
+    @Test
+    void tellsNonexistentValues() {
+        Projection projected = new SmartJson(new Json.Of(deep)).project(
+            "/ocean/rock3/nereid1/hair",
+            "/ocean/rock1/nereid1/hair/color",
+            "/ocean/rock1/nereid1/associates/5/name",
+            "/ocean/rock1/nereid2/hair",
+            "/ocean/rock1/nereid2/age"
+        );
+        assertFalse(projected.has(0));
+        assertFalse(projected.has(1));
+        assertFalse(projected.has(2));
+        assertTrue(projected.has(3));
+        assertTrue(projected.json(0).isMissing());
+        assertThrows(IllegalArgumentException.class, () -> projected.leaf(0));
+        assertThrows(IllegalArgumentException.class, () -> projected.leaf(4));
+        assertThrows(
+            IllegalArgumentException.class, () -> projected.leafAsInt(2)
+        );
+    }
+
+    @Test
+    void stopsReadingAsSoonAsAllNodesAreFound() {
+        Projection projected = new SmartJson(
+            new Json.Of("{\"a\":{\"b\":1,\"x\":0},\"c\":[2, ><")
+        ).project("/c/0", "/a/b");
+        assertEquals(2, projected.leafAsInt(0));
+        assertEquals(1, projected.leafAsInt(1));
+    }
+
+    @Test
+    void readsOriginOnlyOnce() {
+        CountingJson origin = new CountingJson(new Json.Of(deep));
+        Projection projected = new SmartJson(origin).project(
+            "/ocean/rock1/nereid1/hair", "/ocean/rock2/nereid3/hair"
+        );
+        assertEquals("black", projected.leaf(0));
+        assertEquals("blonde", projected.leaf(1));
+        assertEquals(1, origin.reads());
+    }
+
+    @Test
+    void takesValuesFromParsedTree() {
+        CountingJson origin = new CountingJson(new Json.Of(deep));
+        SmartJson json = new SmartJson(origin);
+        json.leaf("/ocean/rock1/nereid1/hair");
+        Projection projected = json.project(
+            "/ocean/rock1/nereid1/hair", "/ocean/rock9"
+        );
+        assertEquals("black", projected.leaf(0));
+        assertFalse(projected.has(1));
+        assertEquals(1, origin.reads());
+    }
+
+    @Test
+    void projectionOfMissingJsonIsMissing() {
+        assertFalse(
+            new SmartJson(new Json.Of(new byte[0])).project("field").has(0)
+        );
+        assertFalse(new SmartJson(new MissingJson()).project("field").has(0));
+    }
+
+    @Test
+    void projectionOfLeafIsMissing() {
+        assertFalse(new SmartJson(new Json.Of("12")).project("field").has(0));
+    }
+
+    @Test
+    void projectsNull() {
+        Projection projected = new SmartJson(
+            new Json.Of("{\"a\":null}")
+        ).project("a");
+        assertTrue(projected.has(0));
+        assertTrue(projected.json(0).isMissing());
+    }
+}
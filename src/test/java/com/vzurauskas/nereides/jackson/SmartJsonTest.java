@@ -3,6 +3,8 @@ package com.vzurauskas.nereides.jackson;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -10,7 +12,16 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import org.junit.jupiter.api.Disabled;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Test;
 
 final class SmartJsonTest {
@@ -140,10 +151,8 @@ final class SmartJsonTest {
         );
     }
 
-    @Disabled("https://github.com/vzurauskas/nereides-jackson/issues/39")
     @Test
     void reallyUnderstandsArrays() {
-        String array = "[{\"name\":\"Jason\"},{\"name\":\"Thetis\"}]";
         assertEquals(
             "Jason",
             new SmartJson(
@@ -162,6 +171,34 @@ final class SmartJsonTest {
         assertFalse(new SmartJson(new Json.Of("{}")).isMissing());
     }
 
+    @Test
+    void knowsIfNullIsMissing() {
+        assertTrue(new SmartJson(new Json.Of(" null ")).isMissing());
+    }
+
+    @Test
+    void knowsIfMissingByFirstToken() {
+        assertFalse(new SmartJson(new Json.Of("{\"a\": ><")).isMissing());
+    }
+
+    @Test
+    void malformedIsNotMissing() {
+        assertFalse(new SmartJson(new Json.Of("malformed")).isMissing());
+    }
+
+    @Test
+    void knowsIfMissingFromParsedTree() {
+        CountingJson origin = new CountingJson(
+            new Json.Of("{\"field\":\"value\",\"nothing\":null}")
+        );
+        SmartJson json = new SmartJson(origin);
+        json.leaf("field");
+        assertFalse(json.isMissing());
+        assertTrue(json.at("/nothing").isMissing());
+        assertFalse(json.at("/field").isMissing());
+        assertEquals(1, origin.reads());
+    }
+
     @Test
     void toStringWorksWhenMalformed() {
         assertEquals(
@@ -170,6 +207,22 @@ final class SmartJsonTest {
         );
     }
 
+    @Test
+    void hashesAndComparesMalformedByBytes() {
+        Set<SmartJson> jsons = new HashSet<>(
+            Arrays.asList(
+                new SmartJson(new Json.Of("malformed")),
+                new SmartJson(new Json.Of("malformed")),
+                new SmartJson(new Json.Of("{\"a\": ><")),
+                new SmartJson(new Json.Of("{\"a\": 1}"))
+            )
+        );
+        assertEquals(3, jsons.size());
+        assertTrue(jsons.contains(new SmartJson(new Json.Of("malformed"))));
+        assertFalse(jsons.contains(new SmartJson(new Json.Of("malformd"))));
+        assertTrue(jsons.contains(new SmartJson(new Json.Of("{\"a\":1}"))));
+    }
+
     @Test
     void canReadTwice() {
         SmartJson json = new SmartJson(
@@ -178,4 +231,112 @@ final class SmartJsonTest {
         assertEquals("value1", json.leaf("field1"));
         assertEquals("value1", json.leaf("field1"));
     }
+
+    @Test
+    void parsesOriginOnlyOnce() {
+        CountingJson origin = new CountingJson(
+            new Json.Of(
+                "{\"field1\":\"value1\",\"field2\":2,\"field3\":3.5,"
+                    + "\"field4\":true,\"nested\":{\"field5\":\"value5\"}}"
+            )
+        );
+        SmartJson json = new SmartJson(origin);
+        assertEquals(0, origin.reads());
+        json.leaf("field1");
+        json.leafAsInt("field2");
+        json.leafAsDouble("/field3");
+        json.leafAsBool("field4");
+        json.optLeaf("nonexistent");
+        json.textual();
+        json.pretty();
+        json.objectNode();
+        json.at("/nested");
+        assertEquals(1, origin.reads());
+    }
+
+    @Test
+    void parsesOriginOnlyOnceWhenReadConcurrently()
+        throws InterruptedException, ExecutionException {
+        CountingJson origin = new CountingJson(
+            new Json.Of("{\"field1\":\"value1\"}")
+        );
+        SmartJson json = new SmartJson(origin);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> reads = pool.invokeAll(
+                Collections.nCopies(
+                    8, (Callable<String>) () -> json.leaf("field1")
+                )
+            );
+            for (Future<String> read : reads) {
+                assertEquals("value1", read.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1, origin.reads());
+    }
+
+    @Test
+    void navigatesNestedJsonsWithoutParsingAgain() {
+        CountingJson origin = new CountingJson(new Json.Of(deep));
+        SmartJson json = new SmartJson(origin);
+        assertEquals(
+            "blonde",
+            json.at("/ocean").at("/rock2").at("/nereid3").leaf("hair")
+        );
+        assertEquals(
+            77.5,
+            json.at("/ocean/rock1").leafAsDouble("/nereid2/age")
+        );
+        assertEquals(1, origin.reads());
+    }
+
+    @Test
+    void serializesNestedJsonOnlyWhenAsked() {
+        assertEquals(
+            "{\"hair\":\"red\",\"age\":77.5}",
+            new SmartJson(
+                new Json.Of(deep)
+            ).at("/ocean").at("/rock1/nereid2").toString()
+        );
+    }
+
+    @Test
+    void refusesToGiveObjectNodeOfArray() {
+        assertThrows(
+            IllegalStateException.class,
+            () -> new SmartJson(
+                new Json.Of(deep)
+            ).at("/ocean/rock1/nereid1/associates").objectNode()
+        );
+    }
+
+    @Test
+    void sharesTreeOfAnotherSmartJson() {
+        SmartJson json = new SmartJson(new Json.Of("{\"a\":1}"));
+        assertSame(json.node(), new SmartJson(json).node());
+    }
+
+    @Test
+    void isNotChangedThroughObjectNode() {
+        SmartJson json = new SmartJson(new Json.Of("{\"a\":1}"));
+        SmartJson other = new SmartJson(json);
+        int hash = json.hashCode();
+        json.objectNode().put("a", 2);
+        other.objectNode().put("b", 3);
+        assertEquals(1, json.leafAsInt("a"));
+        assertEquals("{\"a\":1}", other.textual());
+        assertEquals(hash, new SmartJson(new Json.Of("{\"a\":1}")).hashCode());
+    }
+
+    @Test
+    void takesCopyOfJsonNode() {
+        ObjectNode node = MAPPER.createObjectNode().put("field", "value");
+        SmartJson json = new SmartJson(new Json.Of(node));
+        node.put("field", "changed");
+        assertEquals("value", json.leaf("field"));
+        assertEquals("{\"field\":\"value\"}", json.toString());
+        assertFalse(json.isMissing());
+    }
 }
@@ -0,0 +1,126 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+final class SmartJsonWriteTest {
+
+    @Test
+    void copiesOriginalBytes() {
+        String text = "{ \"nereid\" : \"Thetis\",\n  \"age\": 10 }";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SmartJson(new Json.Of(text)).writeTo(out);
+        assertEquals(
+            text, new String(out.toByteArray(), StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    void copiesOriginalBytesEvenIfParsed() {
+        String text = "{ \"nereid\" : \"Thetis\" }";
+        SmartJson json = new SmartJson(new Json.Of(text));
+        json.leaf("nereid");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        json.writeTo(out);
+        assertEquals(
+            text, new String(out.toByteArray(), StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    void generatesMutableJson() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SmartJson(
+            new MutableJson().with("name", "Thetis").with("age", 10)
+        ).writeTo(out);
+        assertEquals(
+            "{\"name\":\"Thetis\",\"age\":10}",
+            new String(out.toByteArray(), StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    void generatesNestedJson() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SmartJson(
+            new Json.Of("{\"a\": {\"b\": [1, 2]}}")
+        ).at("/a").writeTo(out);
+        assertEquals(
+            "{\"b\":[1,2]}",
+            new String(out.toByteArray(), StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    void writesToChannel() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SmartJson(new Json.Of("[1,2,3]")).writeTo(
+            Channels.newChannel(out)
+        );
+        assertEquals(
+            "[1,2,3]", new String(out.toByteArray(), StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    void leavesStreamOpen() {
+        ClosingStream bytes = new ClosingStream();
+        new SmartJson(new Json.Of("{}")).writeTo(bytes);
+        ClosingStream tree = new ClosingStream();
+        new SmartJson(new MutableJson()).writeTo(tree);
+        assertFalse(bytes.closed);
+        assertFalse(tree.closed);
+        assertTrue(bytes.flushed);
+        assertTrue(tree.flushed);
+    }
+
+    @Test
+    void reportsFailures() {
+        assertThrows(
+            UncheckedIOException.class,
+            () -> new SmartJson(new Json.Of("{}")).writeTo(new FailingStream())
+        );
+        assertThrows(
+            UncheckedIOException.class,
+            () -> new SmartJson(new MutableJson().with("a", 1)).writeTo(
+                new FailingStream()
+            )
+        );
+    }
+
+    private static final class ClosingStream extends OutputStream {
+        private boolean closed;
+        private boolean flushed;
+
+        @Override
+        public void write(int value) {
+            // Discarded.
+        }
+
+        @Override
+        public void flush() {
+            flushed = true;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static final class FailingStream extends OutputStream {
+        @Override
+        public void write(int value) throws IOException {
+            throw new IOException("Failed");
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Test;
+
+final class StreamingJsonTest {
+
+    private final Path deep;
+
+    StreamingJsonTest() throws URISyntaxException {
+        this.deep = Paths.get(
+            StreamingJsonTest.class.getClassLoader()
+                .getResource("deep.json").toURI()
+        );
+    }
+
+    @Test
+    void findsLeaf() {
+        assertEquals(
+            "red",
+            new StreamingJson(new Json.Of(deep))
+                .leaf("/ocean/rock1/nereid2/hair")
+        );
+    }
+
+    @Test
+    void findsLeafByName() {
+        assertEquals(
+            "value2",
+            new StreamingJson(
+                new Json.Of("{\"field1\":\"value1\",\"field2\":\"value2\"}")
+            ).leaf("field2")
+        );
+    }
+
+    @Test
+    void findsLeafByNameWithSlash() {
+        assertEquals(
+            "value",
+            new StreamingJson(
+                new Json.Of("{\"a\":{\"b\":\"wrong\"},\"a/b\":\"value\"}")
+            ).leaf("a/b")
+        );
+    }
+
+    @Test
+    void findsLeafWithEmptyName() {
+        assertEquals(
+            "value",
+            new StreamingJson(new Json.Of("{\"\":\"value\"}")).leaf("")
+        );
+    }
+
+    @Test
+    void findsLeafInArray() {
+        assertEquals(
+            "Thetis",
+            new StreamingJson(new Json.Of(deep))
+                .leaf("/ocean/rock1/nereid1/associates/1/name")
+        );
+    }
+
+    @Test
+    void skipsBranchesWhichDoNotMatch() {
+        assertEquals(
+            "right",
+            new StreamingJson(
+                new Json.Of(
+                    "{\"a\":{\"tenantId\":\"wrong\"},\"b\":[{\"x\":[1,2]}],"
+                        + "\"tenantId\":\"right\"}"
+                )
+            ).leaf("tenantId")
+        );
+    }
+
+    @Test
+    void stopsReadingAsSoonAsLeafIsFound() {
+        assertEquals(
+            "t1",
+            new StreamingJson(
+                new Json.Of("{\"header\":{\"tenantId\":\"t1\"},\"body\": ><")
+            ).leaf("/header/tenantId")
+        );
+    }
+
+    @Test
+    void findsLeavesOfAllTypes() {
+        StreamingJson json = new StreamingJson(new Json.Of(deep));
+        assertEquals(100, json.leafAsInt("/ocean/rock1/nereid1/age"));
+        assertEquals(77.5, json.leafAsDouble("/ocean/rock1/nereid2/age"));
+        assertTrue(json.leafAsBool("/ocean/rock2/nereid3/fair"));
+    }
+
+    @Test
+    void returnsEmptyForNonexistentLeaves() {
+        StreamingJson json = new StreamingJson(new Json.Of(deep));
+        assertFalse(json.optLeaf("/ocean/rock3/nereid1/hair").isPresent());
+        assertFalse(json.optLeafAsInt("/ocean/rock1/nereid1/x").isPresent());
+        assertFalse(
+            json.optLeafAsDouble("/ocean/rock1/nereid1/associates/2/name")
+                .isPresent()
+        );
+        assertFalse(
+            json.optLeafAsBool("/ocean/rock1/nereid1/associates/x")
+                .isPresent()
+        );
+        assertFalse(json.optLeaf("/ocean/rock1/nereid1/age/x").isPresent());
+        assertFalse(
+            new StreamingJson(new MissingJson()).optLeaf("field").isPresent()
+        );
+    }
+
+    @Test
+    void throwsForNonexistentLeaves() {
+        StreamingJson json = new StreamingJson(new Json.Of(deep));
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> json.leaf("nonexistent")
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> json.leafAsInt("nonexistent")
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> json.leafAsDouble("nonexistent")
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> json.leafAsBool("nonexistent")
+        );
+    }
+
+    @Test
+    void findsNestedJson() {
+        assertEquals(
+            "blonde",
+            new StreamingJson(new Json.Of(deep))
+                .at("/ocean").at("/rock2/nereid3").leaf("hair")
+        );
+    }
+
+    @Test
+    void givesBytesOfNestedJson() {
+        assertEquals(
+            "[{\"name\":\"Jason\"},{\"name\":\"Thetis\"}]",
+            new StreamingJson(new Json.Of(deep))
+                .at("/ocean/rock1/nereid1/associates").toString()
+        );
+    }
+
+    @Test
+    void givesBytesOfOriginAtRoot() {
+        String json = "{\"field\": \"value\"}";
+        assertEquals(json, new StreamingJson(new Json.Of(json)).toString());
+    }
+
+    @Test
+    void nestedJsonIsMissingIfPathDoesNotExist() {
+        assertTrue(
+            new SmartJson(
+                new StreamingJson(new Json.Of(deep)).at("/ocean/nothing")
+            ).isMissing()
+        );
+    }
+}
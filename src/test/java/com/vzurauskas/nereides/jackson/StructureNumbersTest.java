@@ -0,0 +1,108 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+final class StructureNumbersTest {
+
+    @Test
+    void hashesNumbersWhichMatchAlike() {
+        JsonNodeFactory nodes = JsonNodeFactory.instance;
+        List<JsonNode[]> pairs = Arrays.asList(
+            new JsonNode[] {
+                nodes.numberNode(new BigDecimal("9007199254740993.0")),
+                nodes.numberNode(9_007_199_254_740_993L),
+            },
+            new JsonNode[] {
+                nodes.numberNode(BigInteger.valueOf(5)), nodes.numberNode(5),
+            },
+            new JsonNode[] {
+                nodes.numberNode(new BigDecimal("1.50")),
+                nodes.numberNode(1.5),
+            },
+            new JsonNode[] {
+                nodes.numberNode(0.5f), nodes.numberNode(new BigDecimal("0.5")),
+            },
+            new JsonNode[] {
+                nodes.numberNode(Long.MAX_VALUE),
+                nodes.numberNode(new BigDecimal(Long.MAX_VALUE + ".00")),
+            },
+            new JsonNode[] {
+                nodes.numberNode(new BigInteger("18446744073709551616")),
+                nodes.numberNode(new BigDecimal("1.8446744073709551616E19")),
+            },
+            new JsonNode[] {
+                nodes.numberNode(new BigInteger("9223372036854775808")),
+                nodes.numberNode(new BigDecimal("9223372036854775808.0")),
+            },
+            new JsonNode[] {
+                nodes.numberNode(new BigDecimal("0.000")), nodes.numberNode(0L),
+            }
+        );
+        for (JsonNode[] pair : pairs) {
+            SmartJson first = new SmartJson(new Json.Of(array(pair[0])));
+            SmartJson second = new SmartJson(new Json.Of(array(pair[1])));
+            assertTrue(new Structure(first).matches(second), first.textual());
+            assertEquals(
+                new Structure(first).hash(), new Structure(second).hash(),
+                first.textual()
+            );
+            assertEquals(first, second);
+        }
+    }
+
+    @Test
+    void tellsNumbersApart() {
+        JsonNodeFactory nodes = JsonNodeFactory.instance;
+        assertFalse(
+            new Structure(new Json.Of(array(nodes.numberNode(1.5))))
+                .matches(new Json.Of(array(nodes.numberNode(2))))
+        );
+        assertFalse(
+            new Structure(
+                new Json.Of(array(nodes.numberNode(Double.NaN)))
+            ).matches(new Json.Of(array(nodes.numberNode(1.5))))
+        );
+    }
+
+    @Test
+    void comparesInfinities() {
+        SmartJson infinite = new SmartJson(new Json.Of("[1e400]"));
+        assertEquals(infinite, new SmartJson(new Json.Of("[2e400]")));
+        assertEquals(
+            infinite.hashCode(),
+            new SmartJson(new Json.Of("[2e400]")).hashCode()
+        );
+        List<String> others = Arrays.asList("[-1e400]", "[1e308]", "[1]");
+        for (String other : others) {
+            assertFalse(new Structure(infinite).matches(new Json.Of(other)));
+            assertFalse(new Structure(new Json.Of(other)).matches(infinite));
+            assertNotEquals(infinite, new SmartJson(new Json.Of(other)));
+        }
+        assertNotEquals(
+            infinite,
+            new SmartJson(
+                new Json.Of(
+                    array(
+                        JsonNodeFactory.instance.numberNode(
+                            new BigDecimal("1e400")
+                        )
+                    )
+                )
+            )
+        );
+    }
+
+    private static JsonNode array(JsonNode element) {
+        return JsonNodeFactory.instance.arrayNode().add(element);
+    }
+}
@@ -0,0 +1,103 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+final class StructureTest {
+
+    @Test
+    void ignoresOrderOfFieldsAndWhitespace() {
+        assertSame(
+            "{\"a\": 1, \"b\": {\"c\": [true, null, \"x\"], \"d\": \"y\"}}",
+            "{\"b\":{\"d\":\"y\",\"c\":[true,null,\"x\"]},\"a\":1}"
+        );
+    }
+
+    @Test
+    void ignoresNotationOfNumbers() {
+        assertSame("[1, 2.5, -0.0, 1e2]", "[1.0, 2.50, 0, 100]");
+        assertSame("[5000000000]", "[5.0E9]");
+        assertSame("[10000000000000000000000]", "[1e22]");
+    }
+
+    @Test
+    void tellsDifferentStructures() {
+        List<String> others = Arrays.asList(
+            "{\"a\": 1, \"b\": [2, 3]}",
+            "{\"a\": 1, \"b\": [3, 2]}",
+            "{\"a\": 1, \"c\": [2, 3]}",
+            "{\"a\": 1.5, \"b\": [2, 3]}",
+            "{\"a\": \"1\", \"b\": [2, 3]}",
+            "{\"a\": true, \"b\": [2, 3]}",
+            "{\"a\": null, \"b\": [2, 3]}",
+            "{\"a\": 1, \"b\": [2, 3, 4]}",
+            "{\"a\": 1, \"b\": {\"0\": 2, \"1\": 3}}",
+            "[1, [2, 3]]"
+        );
+        for (String other : others) {
+            Structure structure = new Structure(
+                new Json.Of("{\"a\": 1, \"b\": [2, 4]}")
+            );
+            assertFalse(structure.matches(new Json.Of(other)), other);
+            assertNotEquals(
+                structure.hash(), new Structure(new Json.Of(other)).hash(),
+                other
+            );
+        }
+    }
+
+    @Test
+    void hashesParsedAndUnparsedJsonsAlike() {
+        String text = "{\"a\": [1, 2.5, 1e300, 10000000000000000000000]}";
+        long hash = new Structure(new Json.Of(text)).hash();
+        SmartJson parsed = new SmartJson(new Json.Of(text));
+        parsed.isMissing();
+        assertEquals(hash, new Structure(parsed).hash());
+        assertEquals(
+            hash,
+            new Structure(new MutableJson(new Json.Of(text))).hash()
+        );
+        ObjectNode built = JsonNodeFactory.instance.objectNode();
+        built.putArray("a")
+            .add(BigInteger.ONE)
+            .add(new BigDecimal("2.50"))
+            .add(1e300)
+            .add(new BigDecimal("1E+22"));
+        assertEquals(hash, new Structure(new Json.Of(built)).hash());
+    }
+
+    @Test
+    void matchesMutableJson() {
+        assertTrue(
+            new Structure(new MutableJson().with("a", 1).with("b", "x"))
+                .matches(new MutableJson().with("b", "x").with("a", 1.0))
+        );
+    }
+
+    @Test
+    void hashesMissingJson() {
+        assertEquals(
+            new Structure(new Json.Of("")).hash(),
+            new Structure(new MissingJson()).hash()
+        );
+        assertTrue(new Structure(new Json.Of("")).matches(new MissingJson()));
+    }
+
+    private static void assertSame(String first, String second) {
+        Structure structure = new Structure(new Json.Of(first));
+        assertTrue(structure.matches(new Json.Of(second)));
+        assertEquals(
+            structure.hash(),
+            new Structure(new Json.Of(second)).hash()
+        );
+    }
+}
@@ -0,0 +1,83 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+final class TreeTest {
+
+    @Test
+    void holdsTreeOfCachedJsonOnlyOnceParsed() {
+        CachedJson json = new CachedJson(new Json.Of("{\"a\": 1}"));
+        assertFalse(new Tree(json).held());
+        assertFalse(new Tree(json).held());
+        assertEquals(1, new SmartJson(json).leafAsInt("a"));
+        assertTrue(new Tree(json).held());
+    }
+
+    @Test
+    void holdsTreeOfSmartJsonOnlyOnceParsed() {
+        SmartJson json = new SmartJson(new Json.Of("{\"a\": 1}"));
+        assertFalse(new Tree(json).held());
+        assertEquals(1, json.leafAsInt("a"));
+        assertTrue(new Tree(json).held());
+        assertTrue(new Tree(new SmartJson(json)).held());
+    }
+
+    @Test
+    void holdsTreeOfJsonMadeOfTree() {
+        assertTrue(
+            new Tree(new Json.Of(new Tree(new Json.Of("[1]")).value())).held()
+        );
+        assertFalse(new Tree(new Json.Of("[1]")).held());
+    }
+
+    @Test
+    void tellsTreeOfPatchIsHeldWithoutMakingIt() {
+        CountingJson source = new CountingJson(new Json.Of("{\"a\": 1}"));
+        assertTrue(
+            new Tree(new JsonPatch(source, new Json.Of("{\"a\": 2}"))).held()
+        );
+        assertEquals(0, source.reads());
+    }
+
+    @Test
+    void readsOnlyFirstTokenOfCachedJsonToTellIfMissing() {
+        CountingJson origin = new CountingJson(new Json.Of("{\"a\": 1} ><"));
+        CachedJson json = new CachedJson(origin);
+        assertFalse(new SmartJson(json).isMissing());
+        assertFalse(new SmartJson(new SmartJson(json)).isMissing());
+        assertFalse(new Tree(json).held());
+        assertEquals(1, origin.reads());
+    }
+
+    @Test
+    void streamsElementsOfUnparsedSmartJson() {
+        SmartJson json = new SmartJson(new Json.Of("{\"a\": [1, 2, ><"));
+        try (Stream<SmartJson> elements = new SmartJson(json).elements("a")) {
+            assertEquals(
+                "1", elements.findFirst().get().textual()
+            );
+        }
+        assertFalse(new Tree(json).held());
+    }
+
+    @Test
+    void projectsUnparsedSmartJsonByStreaming() {
+        SmartJson json = new SmartJson(new Json.Of("{\"a\": 1, \"b\": ><"));
+        assertEquals(1, new SmartJson(json).project("a").leafAsInt(0));
+        assertFalse(new Tree(json).held());
+    }
+
+    @Test
+    void hashesUnparsedCachedJsonByStreaming() {
+        CachedJson json = new CachedJson(new Json.Of("{\"a\": [1, 2]}"));
+        assertEquals(
+            new Structure(new Json.Of("{\"a\": [1, 2]}")).hash(),
+            new Structure(json).hash()
+        );
+        assertFalse(new Tree(json).held());
+    }
+}
@@ -0,0 +1,39 @@
+package com.vzurauskas.nereides.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.junit.jupiter.api.Test;
+
+final class UncheckedTest {
+
+    @Test
+    void givesValue() {
+        assertEquals("a", new Unchecked<>(() -> "a").value());
+    }
+
+    @Test
+    void wrapsIoExceptions() {
+        assertThrows(
+            UncheckedIOException.class,
+            () -> new Unchecked<>(
+                () -> {
+                    throw new IOException("io");
+                }
+            ).value()
+        );
+    }
+
+    @Test
+    void wrapsOtherCheckedExceptions() {
+        assertThrows(
+            RuntimeException.class,
+            () -> new Unchecked<>(
+                () -> {
+                    throw new InterruptedException("interrupted");
+                }
+            ).value()
+        );
+    }
+}